@@ -0,0 +1,162 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.enumerate.TableDataInfo;
+import me.axolotldev.api.sql.enumerate.TableType;
+import me.axolotldev.api.sql.util.Row;
+import me.axolotldev.api.sql.util.TableUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FileAsDataBase的JMH基準測試，在臨時文件上的SQLite數據庫中測量單行寫入、批量寫入、按鍵查詢、條件掃描和刪除。
+ * 每個測試分別以1、4和16個線程運行，執行{@code mvn -P benchmark verify}後結果會寫入target/jmh-result.json。
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class FileAsDataBaseBenchmark {
+
+    private static final String TABLE = "bench";
+    private static final int PRELOADED = 10_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int SCAN_WIDTH = 50;
+    private static final int DELETABLE = 20_000;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        FileAsDataBase db;
+        final AtomicLong nextId = new AtomicLong(PRELOADED);
+        private File file;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            file = File.createTempFile("devtool-bench", ".db");
+            file.delete();
+            db = new FileAsDataBase(file.getPath(), 16);
+            db.connect();
+            db.createTable(TABLE,
+                    new TableUnit("id", TableType.INTEGER, TableDataInfo.PRIMARY_KEY),
+                    new TableUnit("name", TableType.TEXT),
+                    new TableUnit("score", TableType.INTEGER));
+            db.createIndex("bench_score", TABLE, false, "score");
+            List<Map<String, Object>> rows = new ArrayList<>(PRELOADED);
+            for (int i = 0; i < PRELOADED; i++) {
+                rows.add(row(i));
+            }
+            db.writeBatch(TABLE, rows);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            db.disconnect();
+            for (String suffix : new String[]{"", "-wal", "-shm"}) {
+                new File(file.getPath() + suffix).delete();
+            }
+        }
+
+        long newId() {
+            return nextId.getAndIncrement();
+        }
+    }
+
+    /**
+     * 每個線程在每輪迭代前預先寫入一段只屬於自己的行，供刪除測試使用。
+     */
+    @State(Scope.Thread)
+    public static class Deletable {
+
+        private long next;
+        private long end;
+
+        @Setup(Level.Iteration)
+        public void fill(Database database) {
+            next = database.nextId.getAndAdd(DELETABLE);
+            end = next + DELETABLE;
+            List<Map<String, Object>> rows = new ArrayList<>(DELETABLE);
+            for (long id = next; id < end; id++) {
+                rows.add(row(id));
+            }
+            database.db.writeBatch(TABLE, rows);
+        }
+
+        long take() {
+            // Past the end this deletes a missing key; DELETABLE is sized so an iteration never gets there.
+            return next < end ? next++ : end;
+        }
+    }
+
+    private static Map<String, Object> row(long id) {
+        return Map.of("id", id, "name", "player-" + id, "score", id % 1000);
+    }
+
+    @Benchmark
+    public void insertSingle(Database database) {
+        database.db.writeToTable(TABLE, row(database.newId()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long insertBatch(Database database) {
+        List<Map<String, Object>> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            rows.add(row(database.newId()));
+        }
+        return database.db.writeBatch(TABLE, rows);
+    }
+
+    @Benchmark
+    public ResultSet keyedLookup(Database database) {
+        return database.db.getTableValues(TABLE, Map.of("id", (long) ThreadLocalRandom.current().nextInt(PRELOADED)));
+    }
+
+    @Benchmark
+    public List<Row> filteredScan(Database database) throws SQLException {
+        int low = ThreadLocalRandom.current().nextInt(1000 - SCAN_WIDTH);
+        return database.db.runSearch("SELECT * FROM bench WHERE score BETWEEN ? AND ?", Row.mapper(), low, low + SCAN_WIDTH);
+    }
+
+    @Benchmark
+    public int delete(Database database, Deletable deletable) {
+        return database.db.deleteFromTable(TABLE, Map.of("id", deletable.take()));
+    }
+
+    @Threads(1)
+    public static class Threads1 extends FileAsDataBaseBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends FileAsDataBaseBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends FileAsDataBaseBenchmark {
+    }
+}
@@ -0,0 +1,35 @@
+package me.axolotldev.api.interfaces;
+
+import me.axolotldev.api.tool.LogEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * LogAppender介面表示日誌的輸出目標，例如控制台或文件。
+ * <p>
+ * 非同步模式下所有方法都只由Logger的消費線程調用，並在每一批日誌之後調用{@link #flush()}；
+ * 同步模式下會在調用者的線程上調用，每條日誌之後都會調用{@link #flush()}，因此實現必須是線程安全的。
+ * 傳入的LogEvent可能被重用，只能在調用期間讀取。
+ *
+ * @since 2026-10-18
+ */
+public interface LogAppender {
+
+    /**
+     * 輸出一條日誌，實現可以先將其緩衝，直到{@link #flush()}被調用。
+     *
+     * @param event 日誌事件
+     */
+    void append(@NotNull LogEvent event);
+
+    /**
+     * 將緩衝的日誌寫出。
+     */
+    default void flush() {
+    }
+
+    /**
+     * 寫出緩衝的日誌並釋放資源。
+     */
+    default void close() {
+    }
+}
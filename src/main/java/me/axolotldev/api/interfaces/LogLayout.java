@@ -0,0 +1,27 @@
+package me.axolotldev.api.interfaces;
+
+import me.axolotldev.api.tool.LogEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * LogLayout介面決定一條日誌被{@link LogAppender}寫出時的文本格式。
+ * 同一個實例可能被多個線程同時使用，因此實現必須是線程安全的。
+ *
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface LogLayout {
+
+    /**
+     * 控制台使用的文本格式，每一行為{@code [前綴] [等級] [時間] 消息}。
+     */
+    LogLayout TEXT = LogEvent::appendTo;
+
+    /**
+     * 將一條日誌格式化後附加到StringBuilder，結尾必須帶有換行符。
+     *
+     * @param event 日誌事件
+     * @param sb    目標StringBuilder
+     */
+    void format(@NotNull LogEvent event, @NotNull StringBuilder sb);
+}
@@ -0,0 +1,168 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.util.ConnectionPool;
+import me.axolotldev.api.sql.util.ParameterBinder;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * BatchWriter類以批次方式將多行寫入同一個表，所有行都在同一個事務中提交。
+ * 每累積指定數量的行便執行一次批次，關閉時提交事務。
+ * 寫入器在其生命週期內持有數據庫的寫鎖，必須在創建它的線程上使用並關閉。
+ *
+ * @since 2026-10-18
+ */
+public final class BatchWriter implements AutoCloseable {
+
+    private final FileAsDataBase database;
+    private final String tableId;
+    private final ConnectionPool.PooledConnection pc;
+    private final Function<List<String>, String> commandBuilder;
+    private final int flushSize;
+
+    private List<String> columns;
+    private PreparedStatement statement;
+    private int pending = 0;
+    private long written = 0;
+    private boolean closed = false;
+
+    BatchWriter(@NotNull FileAsDataBase database, @NotNull String tableId, @NotNull Function<List<String>, String> commandBuilder, int flushSize) throws SQLException {
+        if (flushSize < 1) {
+            throw new IllegalArgumentException("Flush size must be at least 1.");
+        }
+        this.database = database;
+        this.tableId = tableId;
+        this.commandBuilder = commandBuilder;
+        this.flushSize = flushSize;
+        this.pc = database.acquireWriter();
+        try {
+            pc.connection().setAutoCommit(false);
+        } catch (SQLException e) {
+            database.releaseWriter(pc, true);
+            throw e;
+        }
+    }
+
+    /**
+     * 將一行加入批次，列集合與上一行不同時會先執行已累積的批次。
+     *
+     * @param row 包含列名和相應值的Map
+     * @return 此BatchWriter以便方法鏈接
+     * @throws RuntimeException 如果寫入器已關閉或在執行批次時發生錯誤
+     */
+    public BatchWriter add(@NotNull Map<String, Object> row) {
+        if (closed) {
+            throw new IllegalStateException("BatchWriter is closed.");
+        }
+        try {
+            if (columns == null || columns.size() != row.size() || !row.keySet().containsAll(columns)) {
+                executePending();
+                columns = new ArrayList<>(row.keySet());
+                statement = pc.prepare(commandBuilder.apply(columns));
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                ParameterBinder.bind(statement, i + 1, row.get(columns.get(i)));
+            }
+            statement.addBatch();
+            if (++pending >= flushSize) {
+                executePending();
+            }
+        } catch (SQLException e) {
+            abort();
+            throw new RuntimeException(e);
+        }
+        return this;
+    }
+
+    /**
+     * 執行目前累積的批次，但不提交事務。
+     *
+     * @throws RuntimeException 如果在執行批次時發生錯誤，此時事務會被回滾
+     */
+    public void flush() {
+        if (closed) {
+            throw new IllegalStateException("BatchWriter is closed.");
+        }
+        try {
+            executePending();
+        } catch (SQLException e) {
+            abort();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void executePending() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        statement.executeBatch();
+        statement.clearBatch();
+        written += pending;
+        pending = 0;
+    }
+
+    /**
+     * 獲取已執行的行數，不包括尚未執行的批次。
+     *
+     * @return 已執行的行數
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * 放棄所有尚未提交的行並回滾事務。
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (statement != null) {
+                statement.clearBatch();
+            }
+            pc.connection().rollback();
+        } catch (SQLException ignored) {
+        }
+        restoreAutoCommit(pc.connection());
+        database.releaseWriter(pc, true);
+    }
+
+    /**
+     * 執行剩餘的批次並提交事務。
+     *
+     * @throws RuntimeException 如果在提交時發生錯誤，此時事務會被回滾
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        try {
+            executePending();
+            pc.connection().commit();
+        } catch (SQLException e) {
+            abort();
+            throw new RuntimeException(e);
+        }
+        closed = true;
+        restoreAutoCommit(pc.connection());
+        database.releaseWriter(pc, false);
+        database.invalidate(tableId, null);
+    }
+
+    private static void restoreAutoCommit(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -1,41 +1,101 @@
 package me.axolotldev.api.sql;
 
+import me.axolotldev.api.sql.enumerate.OverflowPolicy;
 import me.axolotldev.api.sql.enumerate.SQLStatus;
 import me.axolotldev.api.sql.excetption.NonInConnectedException;
 import me.axolotldev.api.sql.interfaces.BaseDB;
+import me.axolotldev.api.sql.interfaces.RowMapper;
+import me.axolotldev.api.sql.interfaces.SQLFunction;
+import me.axolotldev.api.sql.util.ConnectionPool;
+import me.axolotldev.api.sql.util.ConnectionProfile;
+import me.axolotldev.api.sql.util.ParameterBinder;
+import me.axolotldev.api.sql.util.PoolStats;
+import me.axolotldev.api.sql.util.Migration;
+import me.axolotldev.api.sql.util.Row;
+import me.axolotldev.api.sql.util.Schema;
+import me.axolotldev.api.sql.util.TableCache;
 import me.axolotldev.api.sql.util.TableUnit;
+import me.axolotldev.api.sql.util.TypedRowMapper;
+import me.axolotldev.api.tool.Logger;
 
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
 import java.io.File;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static me.axolotldev.api.sql.enumerate.SQLStatus.CONNECTED;
-import static me.axolotldev.api.sql.enumerate.SQLStatus.PROCESSING;
+import static me.axolotldev.api.sql.enumerate.SQLStatus.*;
 
 /**
  * FileAsDataBase類提供了與存儲在文件中的SQLite數據庫交互的功能。
+ * 所有操作均透過{@link ConnectionPool}借用連接，讀取操作可以並行執行，寫入操作則依序執行。
  *
  * @since 2024-02-22
  */
 @SuppressWarnings("unused")
 public final class FileAsDataBase implements BaseDB {
 
+    private static final Logger logger = new Logger("FileAsDataBase");
+    private static final RowSetFactory rowSetFactory = createRowSetFactory();
+    private static final int DEFAULT_FLUSH_SIZE = 500;
+
     private final String pathS;
     private final File pathF;
-    private SQLStatus status = SQLStatus.DISCONNECTED;
-    private Connection connection;
-    private Statement statement;
+    private final ConnectionPool pool;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicReference<SQLStatus> status = new AtomicReference<>(DISCONNECTED);
+    private long healthCheckPeriod = 0;
+    private ScheduledFuture<?> healthCheck;
+    private ScheduledFuture<?> checkpointTask;
+    private volatile WriteBehindQueue writeBehind;
+    private final Map<String, TableCache> caches = new ConcurrentHashMap<>();
 
     /**
-     * 使用指定的文件路徑構造一個新的FileAsDataBase實例。
+     * 使用指定的文件路徑構造一個新的FileAsDataBase實例，只使用一個連接。
      *
      * @param path SQLite數據庫的文件路徑
      */
     public FileAsDataBase(String path) {
+        this(path, 1);
+    }
+
+    /**
+     * 使用指定的文件路徑和連接池大小構造一個新的FileAsDataBase實例。
+     *
+     * @param path     SQLite數據庫的文件路徑
+     * @param poolSize 連接池中的連接數量
+     */
+    public FileAsDataBase(String path, int poolSize) {
+        this(path, poolSize, ConnectionProfile.DEFAULT);
+    }
+
+    /**
+     * 使用指定的文件路徑、連接池大小和連接配置構造一個新的FileAsDataBase實例。
+     *
+     * @param path     SQLite數據庫的文件路徑
+     * @param poolSize 連接池中的連接數量
+     * @param profile  打開連接時使用的配置，例如{@link ConnectionProfile#THROUGHPUT}
+     */
+    public FileAsDataBase(String path, int poolSize, ConnectionProfile profile) {
         this.pathS = path;
         this.pathF = new File(path);
+        this.pool = new ConnectionPool(SQLiteLink + path, poolSize).setProfile(profile);
         File parent = pathF.getParentFile();
 
         if (!parent.exists()) {
@@ -47,11 +107,31 @@ public final class FileAsDataBase implements BaseDB {
 
     /**
      * 獲取當前SQL連接的狀態。
+     * 已連接且有連接正在被使用時返回{@link SQLStatus#PROCESSING}。
      *
      * @return 當前SQL狀態
      */
     public SQLStatus getStatus() {
-        return status;
+        SQLStatus current = status.get();
+        return current == CONNECTED && pool.getActiveCount() > 0 ? PROCESSING : current;
+    }
+
+    /**
+     * 獲取此數據庫使用的連接池，可在連接前用於調整借用逾時和洩漏偵測等設置。
+     *
+     * @return 連接池
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 獲取連接池目前的統計快照。
+     *
+     * @return 連接池統計
+     */
+    public PoolStats getPoolStats() {
+        return pool.getStats();
     }
 
     /**
@@ -60,16 +140,34 @@ public final class FileAsDataBase implements BaseDB {
      * @throws RuntimeException 如果無法連接到數據庫
      */
     public synchronized void connect() {
-        setStatus(0);
+        if (status.get() == CONNECTED) {
+            return;
+        }
+        transition(CONNECTING);
         try {
             Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(SQLiteLink + pathS);
-            this.statement = this.connection.createStatement();
-            setStatus(1);
+            pool.open();
+            transition(CONNECTED);
         } catch (Exception e) {
-            setStatus(5);
+            transition(ERROR);
             throw new RuntimeException(String.format("Cannot Connect to Database \"%s\"", pathS), e);
         }
+        // Reconnecting from ERROR finds the pool already open, so the previous task is still scheduled.
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+            healthCheck = null;
+        }
+        if (healthCheckPeriod > 0) {
+            healthCheck = pool.scheduleMaintenance(this::checkHealth, healthCheckPeriod);
+        }
+        if (checkpointTask != null) {
+            checkpointTask.cancel(false);
+            checkpointTask = null;
+        }
+        long checkpointInterval = pool.getProfile().getCheckpointInterval();
+        if (checkpointInterval > 0) {
+            checkpointTask = pool.scheduleMaintenance(this::runCheckpoint, checkpointInterval);
+        }
     }
 
     /**
@@ -78,21 +176,103 @@ public final class FileAsDataBase implements BaseDB {
      * @throws RuntimeException 如果無法從數據庫斷開連接
      */
     public synchronized void disconnect() {
-        setStatus(3);
+        if (writeBehind != null) {
+            writeBehind.close();
+            writeBehind = null;
+        }
+        if (status.get() == DISCONNECTED) {
+            return;
+        }
+        if (pool.getActiveCount() > 0) {
+            throw new RuntimeException("Please wait until process done.");
+        }
+        transition(DISCONNECTING);
         try {
-            if (this.status == CONNECTED) {
-                connection.close();
-                setStatus(4);
-            } else if (this.status == SQLStatus.PROCESSING) {
-                setStatus(5);
-                throw new RuntimeException("Please wait until process done.");
+            if (healthCheck != null) {
+                healthCheck.cancel(false);
+                healthCheck = null;
             }
-        } catch (SQLException e) {
-            setStatus(5);
+            if (checkpointTask != null) {
+                checkpointTask.cancel(false);
+                checkpointTask = null;
+            }
+            pool.close();
+            transition(DISCONNECTED);
+        } catch (RuntimeException e) {
+            transition(ERROR);
             throw new RuntimeException(String.format("Cannot Disconnect from Database \"%s\"", pathS), e);
         }
     }
 
+    /**
+     * 啟用後台健康檢查，定期驗證空閒連接並重建失效的連接。
+     * 數據庫因連接失效而進入ERROR狀態後，健康檢查成功時會自動恢復為CONNECTED。
+     *
+     * @param periodMillis 檢查間隔（毫秒）
+     */
+    public synchronized void enableHealthCheck(long periodMillis) {
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+            healthCheck = null;
+        }
+        healthCheckPeriod = periodMillis;
+        if (pool.isOpen() && periodMillis > 0) {
+            healthCheck = pool.scheduleMaintenance(this::checkHealth, periodMillis);
+        }
+    }
+
+    /**
+     * 使用連接配置中的檢查點方式，將WAL的內容寫回數據庫文件。
+     * 配置了後台檢查點時，此方法會在連接池的維護線程上定期被調用。
+     *
+     * @return 如果WAL中的所有幀都已寫回則返回true（不是WAL模式時也返回true），
+     * 檢查點被阻擋或仍有幀未寫回時返回false，PASSIVE方式在有讀取者時常會如此
+     * @throws RuntimeException 如果執行檢查點時發生錯誤
+     */
+    public boolean checkpoint() {
+        String command = pool.getProfile().toCheckpoint();
+        try {
+            return execute(false, pc -> {
+                try (Statement statement = pc.connection().createStatement();
+                     ResultSet rs = statement.executeQuery(command)) {
+                    if (!rs.next()) {
+                        return true;
+                    }
+                    // Columns are busy, frames in the WAL and frames written back; -1 frames means not in WAL mode.
+                    // PASSIVE never reports busy, so only the frame counts show whether the WAL was fully written back.
+                    int busy = rs.getInt(1);
+                    int log = rs.getInt(2);
+                    int checkpointed = rs.getInt(3);
+                    return log == -1 || (busy == 0 && log == checkpointed);
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException(String.format("Cannot checkpoint database \"%s\"", pathS), e);
+        }
+    }
+
+    /**
+     * 創建一個將此數據庫線上備份到指定文件的OnlineBackup，可在執行前設置每步頁數、暫停時間、壓縮和進度回調。
+     * 備份期間數據庫保持連接，讀取和寫入不會被阻塞。
+     *
+     * @param destination 備份文件
+     * @return 尚未執行的OnlineBackup
+     */
+    public OnlineBackup createBackup(File destination) {
+        isConnected();
+        return new OnlineBackup(pathS, destination);
+    }
+
+    /**
+     * 以默認設置將此數據庫線上備份到指定文件。
+     *
+     * @param destination 備份文件
+     * @throws RuntimeException 如果備份失敗
+     */
+    public void backup(File destination) {
+        createBackup(destination).run();
+    }
+
     /**
      * 在數據庫中創建一個具有指定表ID和數據模式的新表。
      *
@@ -100,21 +280,109 @@ public final class FileAsDataBase implements BaseDB {
      * @param data    表的數據模式
      * @throws RuntimeException 在表創建過程中發生錯誤時
      */
-    public synchronized void createTable(String tableId, TableUnit... data) {
-        isConnected();
-        setStatus(2);
-        final String cmd = "CREATE TABLE %s ( %s );";
-        final ArrayList<String> info = new ArrayList<>();
-        for (TableUnit tu : data) {
-            info.add(tu.toString());
+    public void createTable(String tableId, TableUnit... data) {
+        createTable(tableId, false, data);
+    }
+
+    /**
+     * 在數據庫中創建一個具有指定表ID和數據模式的新表。
+     *
+     * @param tableId     要創建的表的ID
+     * @param ifNotExists 是否只在表不存在時創建
+     * @param data        表的數據模式
+     * @throws RuntimeException 在表創建過程中發生錯誤時
+     */
+    public void createTable(String tableId, boolean ifNotExists, TableUnit... data) {
+        try {
+            executeWrite(Schema.createTable(tableId, ifNotExists, data));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 在指定表的一個或多個列上創建索引，索引已存在時不做任何事。
+     *
+     * @param indexName 索引的名稱
+     * @param tableId   表的ID
+     * @param unique    是否為唯一索引
+     * @param columns   索引包含的列，依序組成複合索引
+     * @throws RuntimeException 在索引創建過程中發生錯誤時
+     */
+    public void createIndex(String indexName, String tableId, boolean unique, String... columns) {
+        try {
+            executeWrite(Schema.createIndex(indexName, tableId, unique, columns));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 刪除指定的索引，索引不存在時不做任何事。
+     *
+     * @param indexName 索引的名稱
+     * @throws RuntimeException 在索引刪除過程中發生錯誤時
+     */
+    public void removeIndex(String indexName) {
+        try {
+            executeWrite(Schema.dropIndex(indexName));
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 在單一事務中依版本號順序執行所有尚未執行的Migration。
+     * 已執行的版本號記錄在數據庫的user_version中，任何一步失敗時整個事務會被回滾。
+     *
+     * @param migrations 要執行的Migration
+     * @return 執行後數據庫的版本號
+     * @throws RuntimeException         在執行過程中發生錯誤時
+     * @throws IllegalArgumentException 如果有重複的版本號
+     */
+    public int migrate(Migration... migrations) {
+        final List<Migration> sorted = new ArrayList<>(List.of(migrations));
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException(String.format("Duplicate migration version %d", sorted.get(i).getVersion()));
+            }
         }
         try {
-            statement.execute(String.format(cmd, tableId, String.join(", ", info)));
+            return execute(true, pc -> {
+                Connection connection = pc.connection();
+                try (Statement statement = connection.createStatement()) {
+                    int current;
+                    try (ResultSet rs = statement.executeQuery("PRAGMA user_version;")) {
+                        current = rs.next() ? rs.getInt(1) : 0;
+                    }
+                    connection.setAutoCommit(false);
+                    try {
+                        for (Migration migration : sorted) {
+                            if (migration.getVersion() <= current) {
+                                continue;
+                            }
+                            for (String command : migration.getCommands()) {
+                                statement.execute(command);
+                            }
+                            current = migration.getVersion();
+                        }
+                        statement.execute("PRAGMA user_version = " + current + ";");
+                        connection.commit();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                    return current;
+                }
+            });
         } catch (SQLException e) {
-            setStatus(5);
             throw new RuntimeException(e);
+        } finally {
+            caches.values().forEach(TableCache::invalidateAll);
         }
-        setStatus(1);
     }
 
     /**
@@ -123,17 +391,14 @@ public final class FileAsDataBase implements BaseDB {
      * @param tableId 要刪除的表的ID
      * @throws RuntimeException 在表刪除過程中發生錯誤時
      */
-    public synchronized void removeTable(String tableId) {
-        isConnected();
-        setStatus(2);
-        final String cmd = "DROP TABLE %s;";
+    public void removeTable(String tableId) {
         try {
-            statement.execute(String.format(cmd, tableId));
+            executeWrite(Schema.dropTable(tableId, false));
         } catch (SQLException e) {
-            setStatus(5);
             throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, null);
         }
-        setStatus(1);
     }
 
     /**
@@ -141,47 +406,312 @@ public final class FileAsDataBase implements BaseDB {
      *
      * @param tableId 表的ID
      * @param filter  查詢的過濾條件
-     * @return 包含查詢值的ResultSet
+     * @return 包含查詢值的ResultSet，已與連接分離，可在任何時候讀取
      * @throws RuntimeException 在查詢過程中發生錯誤時
      */
-    public synchronized ResultSet getTableValues(String tableId, String filter) {
-        isConnected();
-        setStatus(2);
+    public ResultSet getTableValues(String tableId, String filter) {
         final String cmd = "SELECT * FROM %s";
-        final String filterCmd = "WHERE %s";
+        final String filterCmd = " WHERE %s";
         final String finalCmd = String.format(cmd, tableId) + (filter.isBlank() ? "" : String.format(filterCmd, filter)) + ";";
 
-        try (ResultSet rs = statement.executeQuery(finalCmd)) {
-            setStatus(1);
-            return rs;
+        try {
+            return runSearch(finalCmd);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 從數據庫中檢索指定表中符合所有相等條件的值，條件值以參數綁定。
+     *
+     * @param tableId 表的ID
+     * @param where   包含列名和要求相等的值的Map，值為null時匹配NULL
+     * @return 包含查詢值的ResultSet，已與連接分離，可在任何時候讀取
+     * @throws RuntimeException 在查詢過程中發生錯誤時
+     */
+    public ResultSet getTableValues(String tableId, Map<String, Object> where) {
+        final List<Object> params = new ArrayList<>(where.size());
+        final String finalCmd = "SELECT * FROM " + tableId + whereClause(where, params) + ";";
+
+        try {
+            return execute(false, pc -> {
+                PreparedStatement ps = pc.prepare(finalCmd);
+                ParameterBinder.bindAll(ps, params);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return detach(rs);
+                }
+            });
         } catch (SQLException e) {
-            setStatus(5);
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * 從指定表中檢索符合所有相等條件的行，並將每一行映射到指定的record或POJO。
+     *
+     * @param tableId 表的ID
+     * @param where   包含列名和要求相等的值的Map，為空時讀取所有記錄
+     * @param type    要映射到的類型
+     * @param <T>     映射結果的類型
+     * @return 映射後的對象列表
+     * @throws RuntimeException 在查詢過程中發生錯誤時
+     */
+    public <T> List<T> getTableValues(String tableId, Map<String, Object> where, Class<T> type) {
+        final List<Object> params = new ArrayList<>(where.size());
+        final String finalCmd = "SELECT * FROM " + tableId + whereClause(where, params) + ";";
+
+        try {
+            return runSearch(finalCmd, TypedRowMapper.of(type), params.toArray());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 創建一個對指定表的查詢，可選擇需要的列並進行排序和分頁，只讀取需要的行和列。
+     *
+     * @param tableId 表的ID
+     * @return 新的Query
+     */
+    public Query query(String tableId) {
+        return new Query(this, tableId);
+    }
+
     /**
      * 將值寫入數據庫中指定的表。
+     * 值會以參數綁定，字符串不需要再手動加上引號。
      *
      * @param tableId 表的ID
      * @param value   包含列名和相應值的Map以進行插入
      * @throws RuntimeException 在寫操作過程中發生錯誤時
      */
-    public synchronized void writeToTable(String tableId, Map<String, Object> value) {
-        isConnected();
-        setStatus(2);
-        final String cmd = "INSERT INTO %s (%s) VALUES (%s);";
-        StringBuilder ksb = new StringBuilder();
-        StringBuilder vsb = new StringBuilder();
-        value.forEach((k, v) -> {
-            ksb.append(", ").append(k);
-            vsb.append(", ").append(v);
+    public void writeToTable(String tableId, Map<String, Object> value) {
+        final List<String> columns = new ArrayList<>(value.keySet());
+        final List<Object> params = new ArrayList<>(columns.size());
+        columns.forEach(column -> params.add(value.get(column)));
+
+        try {
+            executeUpdate(insertCommand(tableId, columns), params);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, value);
+        }
+    }
+
+    /**
+     * 在單一事務中批次寫入多行到指定的表。
+     *
+     * @param tableId 表的ID
+     * @param rows    要插入的行，每行為包含列名和相應值的Map
+     * @return 寫入的行數
+     * @throws RuntimeException 在寫操作過程中發生錯誤時，此時所有行都不會被寫入
+     */
+    public long writeBatch(String tableId, List<Map<String, Object>> rows) {
+        try (BatchWriter writer = openBatchWriter(tableId, DEFAULT_FLUSH_SIZE)) {
+            rows.forEach(writer::add);
+            writer.flush();
+            return writer.getWritten();
+        }
+    }
+
+    /**
+     * 插入一行，如果與已有的行在鍵列上衝突，則就地更新該行的其餘列。
+     * 使用SQLite的{@code ON CONFLICT DO UPDATE}，只需一條語句，行不會有被刪除的空窗期。
+     * 鍵列必須有PRIMARY KEY或UNIQUE約束。
+     *
+     * @param tableId    表的ID
+     * @param keyColumns 用於判斷衝突的鍵列
+     * @param values     包含列名和相應值的Map，必須包含所有鍵列
+     * @return 受影響的行數
+     * @throws RuntimeException 如果發生數據庫訪問錯誤
+     */
+    public int upsert(String tableId, List<String> keyColumns, Map<String, Object> values) {
+        final List<String> columns = new ArrayList<>(values.keySet());
+        final List<Object> params = new ArrayList<>(columns.size());
+        columns.forEach(column -> params.add(values.get(column)));
+
+        try {
+            return executeUpdate(upsertCommand(tableId, keyColumns, columns), params);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, values);
+        }
+    }
+
+    /**
+     * 在一個事務中以批次方式插入或更新多行。
+     *
+     * @param tableId    表的ID
+     * @param keyColumns 用於判斷衝突的鍵列
+     * @param rows       要寫入的行
+     * @return 寫入的行數
+     * @throws RuntimeException 如果發生數據庫訪問錯誤，此時整個事務會被回滾
+     */
+    public long upsertBatch(String tableId, List<String> keyColumns, List<Map<String, Object>> rows) {
+        try (BatchWriter writer = openUpsertWriter(tableId, keyColumns, DEFAULT_FLUSH_SIZE)) {
+            rows.forEach(writer::add);
+            writer.flush();
+            return writer.getWritten();
+        }
+    }
+
+    /**
+     * 打開一個以插入或更新方式寫入的BatchWriter。
+     *
+     * @param tableId    表的ID
+     * @param keyColumns 用於判斷衝突的鍵列
+     * @param flushSize  每批次的行數
+     * @return 新的BatchWriter，使用完畢後必須關閉
+     * @throws RuntimeException 如果無法取得連接
+     */
+    public BatchWriter openUpsertWriter(String tableId, List<String> keyColumns, int flushSize) {
+        final List<String> keys = List.copyOf(keyColumns);
+        try {
+            return new BatchWriter(this, tableId, columns -> upsertCommand(tableId, keys, columns), flushSize);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 更新符合條件的行的指定列，其餘列保持不變。
+     *
+     * @param tableId 表的ID
+     * @param set     要更新的列名和新值
+     * @param where   列名與值的等值條件，以AND連接，值為null時匹配NULL
+     * @return 受影響的行數
+     * @throws RuntimeException 如果發生數據庫訪問錯誤
+     */
+    public int update(String tableId, Map<String, Object> set, Map<String, Object> where) {
+        if (set.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update.");
+        }
+        final List<Object> params = new ArrayList<>(set.size() + where.size());
+        final StringBuilder sb = new StringBuilder("UPDATE ").append(tableId).append(" SET ");
+        set.forEach((column, value) -> {
+            sb.append(column).append(" = ?, ");
+            params.add(value);
         });
+        sb.setLength(sb.length() - 2);
+        final String finalCmd = sb + whereClause(where, params) + ";";
+
+        try {
+            return executeUpdate(finalCmd, params);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, where);
+            invalidate(tableId, set);
+        }
+    }
+
+    /**
+     * 在一個事務中以批次方式更新多行。
+     * 每行的Map同時包含條件列和要更新的列，條件列的值用於定位行（NULL會匹配NULL），其餘列為新值。
+     *
+     * @param tableId      表的ID
+     * @param whereColumns 作為條件的列
+     * @param rows         要更新的行
+     * @return 處理的行數
+     * @throws RuntimeException 如果發生數據庫訪問錯誤，此時整個事務會被回滾
+     */
+    public long updateBatch(String tableId, List<String> whereColumns, List<Map<String, Object>> rows) {
+        try (BatchWriter writer = openUpdateWriter(tableId, whereColumns, DEFAULT_FLUSH_SIZE)) {
+            rows.forEach(writer::add);
+            writer.flush();
+            return writer.getWritten();
+        }
+    }
+
+    /**
+     * 打開一個以更新方式寫入的BatchWriter，每行的Map同時包含條件列和要更新的列。
+     *
+     * @param tableId      表的ID
+     * @param whereColumns 作為條件的列
+     * @param flushSize    每批次的行數
+     * @return 新的BatchWriter，使用完畢後必須關閉
+     * @throws RuntimeException 如果無法取得連接
+     */
+    public BatchWriter openUpdateWriter(String tableId, List<String> whereColumns, int flushSize) {
+        final List<String> keys = List.copyOf(whereColumns);
         try {
-            setStatus(1);
-            statement.execute(String.format(cmd, tableId, ksb.substring(2), vsb.substring(2)));
+            return new BatchWriter(this, tableId, columns -> updateCommand(tableId, keys, columns), flushSize);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 啟用非同步寫入模式，寫入操作會進入有界隊列，由專用的寫入線程合併成事務執行。
+     * 調用{@link #disconnect()}時會先寫入隊列中所有剩餘的操作。
+     *
+     * @param capacity 隊列的容量
+     * @param policy   隊列已滿時的處理方式
+     * @throws IllegalStateException 如果已經啟用了非同步寫入模式
+     */
+    public synchronized void enableWriteBehind(int capacity, OverflowPolicy policy) {
+        if (writeBehind != null) {
+            throw new IllegalStateException("Write-behind is already enabled.");
+        }
+        writeBehind = new WriteBehindQueue(this, capacity, policy, DEFAULT_FLUSH_SIZE);
+    }
+
+    /**
+     * 獲取非同步寫入隊列中等待執行的操作數量。
+     *
+     * @return 等待中的操作數量，未啟用非同步寫入模式時返回0
+     */
+    public int getWriteBehindPending() {
+        WriteBehindQueue queue = writeBehind;
+        return queue == null ? 0 : queue.pending();
+    }
+
+    /**
+     * 非同步地將值寫入數據庫中指定的表。
+     *
+     * @param tableId 表的ID
+     * @param value   包含列名和相應值的Map以進行插入
+     * @return 寫入完成時完成的Future
+     * @throws IllegalStateException 如果未啟用非同步寫入模式
+     */
+    public CompletableFuture<Integer> writeToTableAsync(String tableId, Map<String, Object> value) {
+        final List<String> columns = new ArrayList<>(value.keySet());
+        final List<Object> params = new ArrayList<>(columns.size());
+        columns.forEach(column -> params.add(value.get(column)));
+        return requireWriteBehind().submit(update(insertCommand(tableId, columns), params))
+                .whenComplete((r, e) -> invalidate(tableId, value));
+    }
+
+    /**
+     * 非同步地從指定表中刪除符合所有相等條件的記錄。
+     *
+     * @param tableId 表的ID，從中刪除記錄
+     * @param where   包含列名和要求相等的值的Map，為空時刪除所有記錄
+     * @return 完成時包含被刪除記錄數量的Future
+     * @throws IllegalStateException 如果未啟用非同步寫入模式
+     */
+    public CompletableFuture<Integer> deleteFromTableAsync(String tableId, Map<String, Object> where) {
+        final List<Object> params = new ArrayList<>(where.size());
+        final String finalCmd = "DELETE FROM " + tableId + whereClause(where, params) + ";";
+        return requireWriteBehind().submit(update(finalCmd, params))
+                .whenComplete((r, e) -> invalidate(tableId, where));
+    }
+
+    /**
+     * 開啟一個寫入指定表的BatchWriter，用於串流式地寫入大量的行。
+     * 寫入器在關閉前持有寫鎖，必須在同一線程上使用try-with-resources關閉。
+     *
+     * @param tableId   表的ID
+     * @param flushSize 每次執行批次的行數
+     * @return 新的BatchWriter
+     * @throws RuntimeException 如果無法開始事務
+     */
+    public BatchWriter openBatchWriter(String tableId, int flushSize) {
+        try {
+            return new BatchWriter(this, tableId, columns -> insertCommand(tableId, columns), flushSize);
         } catch (SQLException e) {
-            setStatus(5);
             throw new RuntimeException(e);
         }
     }
@@ -193,39 +723,173 @@ public final class FileAsDataBase implements BaseDB {
      * @param filter  刪除記錄的過濾條件（可以為空）
      * @throws RuntimeException 在刪除過程中發生錯誤時
      */
-    public synchronized void deleteFromTable(String tableId, String filter) {
-        isConnected();
-        setStatus(2);
+    public void deleteFromTable(String tableId, String filter) {
         final String cmd = "DELETE FROM %s";
-        final String filterCmd = "WHERE ( %s )";
+        final String filterCmd = " WHERE ( %s )";
         final String finalCmd = String.format(cmd, tableId) + (filter.isBlank() ? "" : String.format(filterCmd, filter)) + ";";
 
         try {
-            setStatus(1);
-            statement.execute(finalCmd);
+            executeWrite(finalCmd);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, null);
+        }
+    }
+
+    /**
+     * 從指定表中刪除符合所有相等條件的記錄，條件值以參數綁定。
+     *
+     * @param tableId 表的ID，從中刪除記錄
+     * @param where   包含列名和要求相等的值的Map，為空時刪除所有記錄
+     * @return 被刪除的記錄數量
+     * @throws RuntimeException 在刪除過程中發生錯誤時
+     */
+    public int deleteFromTable(String tableId, Map<String, Object> where) {
+        final List<Object> params = new ArrayList<>(where.size());
+        final String finalCmd = "DELETE FROM " + tableId + whereClause(where, params) + ";";
+
+        try {
+            return executeUpdate(finalCmd, params);
         } catch (SQLException e) {
-            setStatus(5);
             throw new RuntimeException(e);
+        } finally {
+            invalidate(tableId, where);
         }
     }
 
     /**
      * 執行SQL命令並返回生成的ResultSet。
+     * 返回的ResultSet已與連接分離，連接會立即歸還到連接池。
      *
      * @param command 要執行的SQL命令
      * @return 通過SQL命令執行生成的ResultSet
      * @throws SQLException 如果發生數據庫訪問錯誤或SQL命令無法執行
      */
-    public synchronized ResultSet runSearch(String command) throws SQLException {
+    public ResultSet runSearch(String command) throws SQLException {
+        return execute(false, pc -> {
+            try (Statement statement = pc.connection().createStatement();
+                 ResultSet rs = statement.executeQuery(command)) {
+                return detach(rs);
+            }
+        });
+    }
+
+    /**
+     * 執行帶參數的SQL查詢，並使用指定的RowMapper將每一行轉換為對象。
+     *
+     * @param command 要執行的SQL命令，參數以?表示
+     * @param mapper  將每一行轉換為對象的RowMapper
+     * @param params  依序綁定到命令中的參數
+     * @param <T>     轉換結果的類型
+     * @return 轉換後的對象列表
+     * @throws SQLException 如果發生數據庫訪問錯誤或SQL命令無法執行
+     */
+    public <T> List<T> runSearch(String command, RowMapper<T> mapper, Object... params) throws SQLException {
+        return execute(false, pc -> {
+            PreparedStatement ps = pc.prepare(command);
+            ParameterBinder.bindAll(ps, Arrays.asList(params));
+            List<T> result = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.add(mapper.map(rs));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 執行帶參數的SQL查詢，並將每一行映射到指定的record或POJO。
+     *
+     * @param command 要執行的SQL命令，參數以?表示
+     * @param type    要映射到的類型
+     * @param params  依序綁定到命令中的參數
+     * @param <T>     映射結果的類型
+     * @return 映射後的對象列表
+     * @throws SQLException 如果發生數據庫訪問錯誤或SQL命令無法執行
+     * @see TypedRowMapper
+     */
+    public <T> List<T> runSearch(String command, Class<T> type, Object... params) throws SQLException {
+        return runSearch(command, TypedRowMapper.of(type), params);
+    }
+
+    /**
+     * 以串流方式執行帶參數的SQL查詢，每次只從數據庫讀取fetchSize行。
+     * 串流在讀取完畢或關閉前會佔用連接池中的一個連接，但不持有寫鎖，
+     * 因此必須在try-with-resources中使用以確保連接被歸還。
+     *
+     * @param command   要執行的SQL命令，參數以?表示
+     * @param fetchSize 每次從數據庫讀取的行數
+     * @param mapper    將每一行轉換為對象的RowMapper
+     * @param params    依序綁定到命令中的參數
+     * @param <T>       轉換結果的類型
+     * @return 惰性的結果串流
+     * @throws RuntimeException 如果無法執行查詢
+     */
+    public <T> Stream<T> streamSearch(String command, int fetchSize, RowMapper<T> mapper, Object... params) {
         isConnected();
-        setStatus(2);
+        final ConnectionPool.PooledConnection pc;
+        final ResultSet rs;
+        try {
+            pc = pool.borrow();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
         try {
-            ResultSet rs = statement.executeQuery(command);
-            setStatus(1);
-            return rs;
-        } catch (SQLException ex) {
-            setStatus(5);
-            throw ex;
+            PreparedStatement ps = pc.prepare(command);
+            ps.setFetchSize(fetchSize);
+            ParameterBinder.bindAll(ps, Arrays.asList(params));
+            rs = ps.executeQuery();
+        } catch (SQLException e) {
+            pc.close();
+            throw new RuntimeException(e);
+        }
+        Cursor<T> cursor = new Cursor<>(pc, rs, mapper);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * 以串流方式執行帶參數的SQL查詢，每一行以與連接分離的{@link Row}表示。
+     *
+     * @param command   要執行的SQL命令，參數以?表示
+     * @param fetchSize 每次從數據庫讀取的行數
+     * @param params    依序綁定到命令中的參數
+     * @return 惰性的Row串流，必須關閉
+     * @throws RuntimeException 如果無法執行查詢
+     * @see #streamSearch(String, int, RowMapper, Object...)
+     */
+    public Stream<Row> streamSearch(String command, int fetchSize, Object... params) {
+        return streamSearch(command, fetchSize, Row.mapper(), params);
+    }
+
+    /**
+     * 以串流方式讀取指定表中符合所有相等條件的行。
+     *
+     * @param tableId   表的ID
+     * @param where     包含列名和要求相等的值的Map，為空時讀取所有記錄
+     * @param fetchSize 每次從數據庫讀取的行數
+     * @return 惰性的Row串流，必須關閉
+     * @throws RuntimeException 如果無法執行查詢
+     */
+    public Stream<Row> streamTableValues(String tableId, Map<String, Object> where, int fetchSize) {
+        final List<Object> params = new ArrayList<>(where.size());
+        final String finalCmd = "SELECT * FROM " + tableId + whereClause(where, params) + ";";
+        return streamSearch(finalCmd, fetchSize, Row.mapper(), params.toArray());
+    }
+
+    /**
+     * 逐行處理SQL查詢的結果，處理完畢後連接會自動歸還。
+     *
+     * @param command   要執行的SQL命令，參數以?表示
+     * @param fetchSize 每次從數據庫讀取的行數
+     * @param action    對每一行執行的操作
+     * @param params    依序綁定到命令中的參數
+     * @throws RuntimeException 如果無法執行查詢
+     */
+    public void forEachRow(String command, int fetchSize, Consumer<Row> action, Object... params) {
+        try (Stream<Row> rows = streamSearch(command, fetchSize, Row.mapper(), params)) {
+            rows.forEach(action);
         }
     }
 
@@ -235,27 +899,325 @@ public final class FileAsDataBase implements BaseDB {
      * @param command 要執行的SQL命令
      * @throws SQLException 如果發生數據庫訪問錯誤或SQL命令無法執行
      */
-    public synchronized void runNormal(String command) throws SQLException {
+    public void runNormal(String command) throws SQLException {
+        try {
+            executeWrite(command);
+        } finally {
+            caches.values().forEach(TableCache::invalidateAll);
+        }
+    }
+
+    /**
+     * 為指定的表啟用以主鍵為索引的讀穿透緩存。
+     * 通過此實例寫入或刪除該表時，相關的緩存條目會自動失效；執行任意SQL的{@link #runNormal(String)}會使所有緩存失效。
+     *
+     * @param tableId   表的ID
+     * @param keyColumn 作為主鍵的列名
+     * @param maxSize   緩存的最大條目數
+     * @param ttlMillis 條目的存活時間（毫秒），0表示不會過期
+     * @return 新的緩存，可用於讀取命中率等統計
+     */
+    public TableCache enableCache(String tableId, String keyColumn, int maxSize, long ttlMillis) {
+        TableCache cache = new TableCache(keyColumn, maxSize, ttlMillis);
+        caches.put(tableId.toLowerCase(), cache);
+        return cache;
+    }
+
+    /**
+     * 停用指定表的緩存。
+     *
+     * @param tableId 表的ID
+     */
+    public void disableCache(String tableId) {
+        caches.remove(tableId.toLowerCase());
+    }
+
+    /**
+     * 以主鍵讀取指定表中的一行，如果該表啟用了緩存則優先從緩存讀取。
+     *
+     * @param tableId 表的ID
+     * @param key     主鍵的值
+     * @return 對應的行，如果不存在則返回null
+     * @throws RuntimeException      在查詢過程中發生錯誤時
+     * @throws IllegalStateException 如果該表沒有啟用緩存
+     */
+    public Row getByKey(String tableId, Object key) {
+        final TableCache cache = caches.get(tableId.toLowerCase());
+        if (cache == null) {
+            throw new IllegalStateException(String.format("Cache is not enabled for table \"%s\"", tableId));
+        }
+        final String finalCmd = "SELECT * FROM " + tableId + " WHERE " + cache.getKeyColumn() + " = ? LIMIT 1;";
+        try {
+            return cache.get(key, k -> {
+                List<Row> rows = runSearch(finalCmd, Row.mapper(), k);
+                return rows.isEmpty() ? null : rows.get(0);
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void invalidate(String tableId, Map<String, Object> row) {
+        if (caches.isEmpty()) {
+            return;
+        }
+        TableCache cache = caches.get(tableId.toLowerCase());
+        if (cache == null) {
+            return;
+        }
+        if (row != null) {
+            for (Map.Entry<String, Object> entry : row.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(cache.getKeyColumn())) {
+                    cache.invalidate(entry.getValue());
+                    return;
+                }
+            }
+        }
+        cache.invalidateAll();
+    }
+
+    ConnectionPool.PooledConnection acquireWriter() throws SQLException {
         isConnected();
-        setStatus(2);
+        writeLock.lock();
         try {
-            setStatus(1);
-            statement.execute(command);
-        } catch (SQLException ex) {
-            setStatus(5);
-            throw ex;
+            return pool.borrow();
+        } catch (SQLException e) {
+            writeLock.unlock();
+            throw e;
+        }
+    }
+
+    void releaseWriter(ConnectionPool.PooledConnection pc, boolean failed) {
+        if (failed) {
+            onFailure(pc);
+        }
+        pc.close();
+        writeLock.unlock();
+    }
+
+    private void executeWrite(String command) throws SQLException {
+        execute(true, pc -> {
+            try (Statement statement = pc.connection().createStatement()) {
+                return statement.execute(command);
+            }
+        });
+    }
+
+    private int executeUpdate(String command, List<Object> params) throws SQLException {
+        return execute(true, update(command, params));
+    }
+
+    private static SQLFunction<ConnectionPool.PooledConnection, Integer> update(String command, List<Object> params) {
+        return pc -> {
+            PreparedStatement ps = pc.prepare(command);
+            ParameterBinder.bindAll(ps, params);
+            return ps.executeUpdate();
+        };
+    }
+
+    private WriteBehindQueue requireWriteBehind() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue == null) {
+            throw new IllegalStateException("Write-behind is not enabled.");
+        }
+        return queue;
+    }
+
+    private <T> T execute(boolean write, SQLFunction<ConnectionPool.PooledConnection, T> action) throws SQLException {
+        isConnected();
+        if (write) {
+            writeLock.lock();
+        }
+        try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+            try {
+                return action.apply(pc);
+            } catch (SQLException ex) {
+                onFailure(pc);
+                throw ex;
+            }
+        } finally {
+            if (write) {
+                writeLock.unlock();
+            }
         }
     }
 
     private void isConnected() {
-        if (!List.of(CONNECTED, PROCESSING).contains(this.status)) {
-            setStatus(5);
+        SQLStatus current = status.get();
+        if (current != CONNECTED && current != PROCESSING) {
             throw new RuntimeException("Did not connect to database", new NonInConnectedException());
         }
     }
 
-    private void setStatus(int statusCode) {
-        this.status = SQLStatus.getByLevel(statusCode);
+    private void onFailure(ConnectionPool.PooledConnection pc) {
+        // A failed statement only means trouble for the database if the connection itself broke.
+        if (!pc.checkValid()) {
+            status.compareAndSet(CONNECTED, ERROR);
+        }
+    }
+
+    private void runCheckpoint() {
+        if (status.get() != CONNECTED) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            logger.severe(e);
+        }
+    }
+
+    private void checkHealth() {
+        if (pool.validateIdle()) {
+            status.compareAndSet(ERROR, CONNECTED);
+        } else {
+            status.compareAndSet(CONNECTED, ERROR);
+        }
+    }
+
+    private void transition(SQLStatus next) {
+        SQLStatus current;
+        do {
+            current = status.get();
+            if (!current.canTransitionTo(next)) {
+                throw new IllegalStateException(String.format("Cannot change status from %s to %s", current, next));
+            }
+        } while (!status.compareAndSet(current, next));
+    }
+
+    private static String insertCommand(String tableId, List<String> columns) {
+        return "INSERT INTO " + tableId + " (" + String.join(", ", columns) + ") VALUES (" +
+                String.join(", ", Collections.nCopies(columns.size(), "?")) + ");";
+    }
+
+    private static String upsertCommand(String tableId, List<String> keyColumns, List<String> columns) {
+        requireColumns(keyColumns, columns);
+        final StringBuilder sb = new StringBuilder(insertCommand(tableId, columns));
+        sb.setLength(sb.length() - 1);
+        sb.append(" ON CONFLICT (").append(String.join(", ", keyColumns)).append(") DO ");
+        final StringBuilder set = new StringBuilder();
+        for (String column : columns) {
+            if (!containsIgnoreCase(keyColumns, column)) {
+                set.append(", ").append(column).append(" = excluded.").append(column);
+            }
+        }
+        sb.append(set.length() == 0 ? "NOTHING" : "UPDATE SET " + set.substring(2));
+        return sb.append(';').toString();
+    }
+
+    private static String updateCommand(String tableId, List<String> whereColumns, List<String> columns) {
+        requireColumns(whereColumns, columns);
+        // Numbered parameters let the statement follow the row's own column order.
+        final StringBuilder set = new StringBuilder();
+        final StringBuilder where = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            if (containsIgnoreCase(whereColumns, column)) {
+                where.append(" AND ").append(column).append(" IS ?").append(i + 1);
+            } else {
+                set.append(", ").append(column).append(" = ?").append(i + 1);
+            }
+        }
+        if (set.length() == 0) {
+            throw new IllegalArgumentException("Nothing to update.");
+        }
+        return "UPDATE " + tableId + " SET " + set.substring(2) + " WHERE " + where.substring(5) + ";";
+    }
+
+    private static void requireColumns(List<String> required, List<String> columns) {
+        if (required.isEmpty()) {
+            throw new IllegalArgumentException("Key columns must not be empty.");
+        }
+        for (String column : required) {
+            if (!containsIgnoreCase(columns, column)) {
+                throw new IllegalArgumentException(String.format("Missing value for key column \"%s\"", column));
+            }
+        }
+    }
+
+    private static boolean containsIgnoreCase(List<String> list, String value) {
+        for (String s : list) {
+            if (s.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String whereClause(Map<String, Object> where, List<Object> params) {
+        if (where.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        where.forEach((k, v) -> {
+            sb.append(" AND ").append(k);
+            if (v == null) {
+                sb.append(" IS NULL");
+            } else {
+                sb.append(" = ?");
+                params.add(v);
+            }
+        });
+        return " WHERE " + sb.substring(5);
+    }
+
+    static CachedRowSet detach(ResultSet rs) throws SQLException {
+        CachedRowSet crs = rowSetFactory.createCachedRowSet();
+        crs.populate(rs);
+        return crs;
+    }
+
+    private static RowSetFactory createRowSetFactory() {
+        try {
+            return RowSetProvider.newFactory();
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final ConnectionPool.PooledConnection pc;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean closed = false;
+
+        private Cursor(ConnectionPool.PooledConnection pc, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.pc = pc;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException(e);
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                rs.close();
+            } catch (SQLException ignored) {
+            }
+            pc.close();
+        }
     }
 
     @Override
@@ -0,0 +1,248 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.interfaces.BaseDB;
+import me.axolotldev.api.sql.interfaces.MetricsSink;
+import me.axolotldev.api.sql.util.QueryStats;
+import me.axolotldev.api.tool.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * InstrumentedDB類包裝任意的BaseDB，記錄每條語句的延遲和返回行數。
+ * 統計數據按正規化後的SQL語句形狀分組，字面值會被替換為?，因此只有參數不同的語句會被歸為一組。
+ * 執行時間超過慢查詢閾值的語句會被寫入日誌。
+ *
+ * @since 2026-10-18
+ */
+public final class InstrumentedDB implements BaseDB {
+
+    private static final Logger logger = new Logger("SlowQuery");
+    private static final int SHAPE_CACHE_LIMIT = 1024;
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private final BaseDB delegate;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private volatile MetricsSink sink = MetricsSink.NONE;
+    private volatile long slowThresholdNanos = -1;
+
+    /**
+     * 構造一個包裝指定數據庫的InstrumentedDB。
+     *
+     * @param delegate 要包裝的數據庫
+     */
+    public InstrumentedDB(@NotNull BaseDB delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 獲取被包裝的數據庫。
+     *
+     * @return 被包裝的數據庫
+     */
+    public BaseDB getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 設置接收每條語句指標的MetricsSink。
+     *
+     * @param sink 要使用的MetricsSink
+     * @return 此InstrumentedDB
+     */
+    public InstrumentedDB setMetricsSink(@NotNull MetricsSink sink) {
+        this.sink = sink;
+        return this;
+    }
+
+    /**
+     * 設置慢查詢閾值，執行時間達到閾值的語句會被寫入日誌。
+     *
+     * @param millis 閾值（毫秒），負數表示不記錄慢查詢
+     * @return 此InstrumentedDB
+     */
+    public InstrumentedDB setSlowQueryThreshold(long millis) {
+        this.slowThresholdNanos = millis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(millis);
+        return this;
+    }
+
+    @Override
+    public void connect() throws SQLException {
+        delegate.connect();
+    }
+
+    @Override
+    public void disconnect() throws SQLException {
+        delegate.disconnect();
+    }
+
+    @Override
+    public void runNormal(String command) throws SQLException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            delegate.runNormal(command);
+            failed = false;
+        } finally {
+            record(command, System.nanoTime() - start, -1, failed);
+        }
+    }
+
+    @Override
+    public ResultSet runSearch(String command) throws SQLException {
+        long start = System.nanoTime();
+        ResultSet rs = null;
+        try {
+            rs = delegate.runSearch(command);
+            return rs;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            record(command, nanos, rs == null ? -1 : countRows(rs), rs == null);
+        }
+    }
+
+    /**
+     * 獲取所有語句形狀的統計數據，按總執行時間由高到低排列。
+     *
+     * @return 統計數據的列表
+     */
+    public List<QueryStats> getStats() {
+        List<QueryStats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparingDouble((QueryStats s) -> s.getLatency().getMean() * s.getCount()).reversed());
+        return list;
+    }
+
+    /**
+     * 獲取指定語句所屬形狀的統計數據。
+     *
+     * @param command SQL語句，會先被正規化
+     * @return 統計數據，如果從未執行過則返回null
+     */
+    @Nullable
+    public QueryStats getStats(@NotNull String command) {
+        return stats.get(shapeOf(command));
+    }
+
+    /**
+     * 清空所有統計數據。
+     */
+    public void resetStats() {
+        stats.clear();
+    }
+
+    /**
+     * 將SQL語句正規化：移除注釋、合併空白，並把字符串和數字字面值替換為?，IN列表會被合併為(?)。
+     *
+     * @param command SQL語句
+     * @return 正規化後的語句
+     */
+    public static String shapeOf(@NotNull String command) {
+        StringBuilder out = new StringBuilder(command.length());
+        int n = command.length();
+        int i = 0;
+        while (i < n) {
+            char c = command.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < n) {
+                    if (command.charAt(i) == '\'') {
+                        if (i + 1 < n && command.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                out.append('?');
+                i++;
+            } else if (c == '"' || c == '`') {
+                int end = command.indexOf(c, i + 1);
+                end = end < 0 ? n : end + 1;
+                out.append(command, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < n && command.charAt(i + 1) == '-') {
+                int end = command.indexOf('\n', i);
+                i = end < 0 ? n : end;
+            } else if (c == '/' && i + 1 < n && command.charAt(i + 1) == '*') {
+                int end = command.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (Character.isWhitespace(c)) {
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+                i++;
+            } else if (Character.isDigit(c) && (out.length() == 0 || !isIdentifierPart(out.charAt(out.length() - 1)))) {
+                while (i < n && (Character.isLetterOrDigit(command.charAt(i)) || command.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        int end = out.length();
+        while (end > 0 && (out.charAt(end - 1) == ' ' || out.charAt(end - 1) == ';')) {
+            end--;
+        }
+        out.setLength(end);
+        return PARAMETER_LIST.matcher(out).replaceAll("(?)");
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private void record(String command, long nanos, long rows, boolean failed) {
+        String shape = shapes.get(command);
+        if (shape == null) {
+            shape = shapeOf(command);
+            if (shapes.size() < SHAPE_CACHE_LIMIT) {
+                shapes.put(command, shape);
+            }
+        }
+        long threshold = slowThresholdNanos;
+        boolean slow = threshold >= 0 && nanos >= threshold;
+        stats.computeIfAbsent(shape, QueryStats::new).record(nanos, rows, failed, slow);
+        MetricsSink current = sink;
+        current.record(shape, nanos, rows, failed);
+        if (slow) {
+            logger.warning("%.1f ms, %s rows: %s", nanos / 1_000_000D, rows < 0 ? "-" : rows, command);
+            current.slowQuery(shape, command, nanos);
+        }
+    }
+
+    private static long countRows(ResultSet rs) {
+        try {
+            if (rs.getType() == ResultSet.TYPE_FORWARD_ONLY) {
+                return -1;
+            }
+            int current = rs.getRow();
+            long rows = rs.last() ? rs.getRow() : 0;
+            if (current == 0) {
+                rs.beforeFirst();
+            } else {
+                rs.absolute(current);
+            }
+            return rows;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedDB(" + delegate + ")";
+    }
+}
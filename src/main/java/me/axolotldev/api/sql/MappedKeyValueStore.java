@@ -0,0 +1,484 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.excetption.NonInConnectedException;
+import me.axolotldev.api.sql.interfaces.BaseDB;
+import me.axolotldev.api.tool.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * MappedKeyValueStore類是一個以內存映射文件實現的鍵值存儲，適合玩家緩存等簡單的鍵到二進制數據的映射。
+ * 所有寫入都以記錄的形式追加到文件末尾，內存中的哈希索引記錄每個鍵最新值的位置，因此讀取只需要一次內存複製。
+ * 每條記錄都帶有CRC32C校驗碼，打開文件時會從頭掃描並在第一條不完整或損壞的記錄處截斷，以便從崩潰中恢復。
+ * 被覆蓋或刪除的記錄會在壓縮時被清除。
+ * <p>
+ * 文件大小上限為2GB。在Windows上被映射的文件不能被替換，因此{@link #compact()}在Windows上不可用。此類不支持SQL，{@link #runNormal(String)}和{@link #runSearch(String)}會拋出
+ * {@link SQLFeatureNotSupportedException}。
+ *
+ * @since 2026-10-18
+ */
+public final class MappedKeyValueStore implements BaseDB {
+
+    private static final Logger logger = new Logger("MappedKeyValueStore");
+    private static final int MAGIC = 0x44544B56;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 12;
+    private static final int TOMBSTONE = -1;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final String pathS;
+    private final File pathF;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Segment segment;
+    private ScheduledExecutorService compactor;
+
+    /**
+     * 使用指定的文件路徑構造一個新的MappedKeyValueStore實例。
+     *
+     * @param path 存儲文件的路徑
+     */
+    public MappedKeyValueStore(String path) {
+        this.pathS = path;
+        this.pathF = new File(path);
+        File parent = pathF.getAbsoluteFile().getParentFile();
+
+        if (!parent.exists()) {
+            if (!parent.mkdirs()) {
+                throw new RuntimeException("Cannot create parent directory.");
+            }
+        }
+    }
+
+    /**
+     * 打開存儲文件並重建索引。如果文件末尾有不完整的記錄，這些記錄會被丟棄。
+     */
+    @Override
+    public synchronized void connect() {
+        if (segment != null) {
+            return;
+        }
+        try {
+            segment = Segment.open(pathF.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot Connect to Database \"%s\"", pathS), e);
+        }
+    }
+
+    /**
+     * 將所有寫入同步到磁盤並關閉存儲文件。
+     */
+    @Override
+    public synchronized void disconnect() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            compactor = null;
+        }
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            if (current == null) {
+                return;
+            }
+            segment = null;
+            current.close();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot Disconnect from Database \"%s\"", pathS), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 寫入一個值，覆蓋同一表中相同鍵的舊值。
+     *
+     * @param tableId 表的ID，用作鍵的命名空間
+     * @param key     鍵
+     * @param value   值
+     */
+    public void put(@NotNull String tableId, @NotNull String key, byte @NotNull [] value) {
+        append(compositeKey(tableId, key), value);
+    }
+
+    /**
+     * 讀取一個值。
+     *
+     * @param tableId 表的ID
+     * @param key     鍵
+     * @return 值，如果不存在則返回null
+     */
+    public byte @Nullable [] get(@NotNull String tableId, @NotNull String key) {
+        Segment current = requireOpen();
+        Long location = current.index.get(compositeKey(tableId, key));
+        if (location == null) {
+            return null;
+        }
+        byte[] value = new byte[length(location)];
+        current.buffer.get(offset(location), value);
+        return value;
+    }
+
+    /**
+     * 刪除一個值。
+     *
+     * @param tableId 表的ID
+     * @param key     鍵
+     * @return 如果鍵存在並被刪除則返回true
+     */
+    public boolean delete(@NotNull String tableId, @NotNull String key) {
+        return append(compositeKey(tableId, key), null);
+    }
+
+    /**
+     * 檢查鍵是否存在。
+     *
+     * @param tableId 表的ID
+     * @param key     鍵
+     * @return 如果鍵存在則返回true
+     */
+    public boolean contains(@NotNull String tableId, @NotNull String key) {
+        return requireOpen().index.containsKey(compositeKey(tableId, key));
+    }
+
+    /**
+     * 獲取所有表中鍵的總數量。
+     *
+     * @return 鍵的數量
+     */
+    public int size() {
+        return requireOpen().index.size();
+    }
+
+    /**
+     * 獲取被覆蓋或刪除、等待壓縮清除的字節數佔已用空間的比例。
+     *
+     * @return 介於0和1之間的比例
+     */
+    public double getGarbageRatio() {
+        Segment current = requireOpen();
+        return current.end <= FILE_HEADER ? 0 : (double) current.garbage / (current.end - FILE_HEADER);
+    }
+
+    /**
+     * 將所有寫入同步到磁盤。
+     */
+    public void sync() {
+        requireOpen().buffer.force();
+    }
+
+    /**
+     * 重寫存儲文件，只保留每個鍵的最新值。壓縮期間寫入會被阻塞，讀取則不受影響。
+     * <p>
+     * 壓縮以新文件替換仍被映射的舊文件，Windows不允許這樣做，因此在Windows上會拋出異常，原文件保持不變。
+     *
+     * @throws RuntimeException 如果寫入新文件失敗，或者平台不允許替換被映射的文件
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            Segment current = requireOpen();
+            if (current.garbage == 0) {
+                return;
+            }
+            segment = current.compact(pathF.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot compact \"%s\"", pathS), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 啟用定期壓縮，當被覆蓋或刪除的字節比例達到閾值時壓縮存儲文件。
+     * 與{@link #compact()}相同，在Windows上不可用。
+     *
+     * @param periodMillis 檢查間隔（毫秒）
+     * @param minGarbage   觸發壓縮的最小比例，介於0和1之間
+     */
+    public synchronized void enableCompaction(long periodMillis, double minGarbage) {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DevTool-KVCompaction");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                if (segment != null && getGarbageRatio() >= minGarbage) {
+                    compact();
+                }
+            } catch (RuntimeException e) {
+                logger.severe(e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 此類不支持SQL。
+     *
+     * @param command SQL命令
+     * @throws SQLFeatureNotSupportedException 總是拋出
+     */
+    @Override
+    public void runNormal(String command) throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("MappedKeyValueStore does not support SQL.");
+    }
+
+    /**
+     * 此類不支持SQL。
+     *
+     * @param command SQL命令
+     * @return 不會返回
+     * @throws SQLFeatureNotSupportedException 總是拋出
+     */
+    @Override
+    public ResultSet runSearch(String command) throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("MappedKeyValueStore does not support SQL.");
+    }
+
+    private boolean append(String composite, byte[] value) {
+        byte[] key = composite.getBytes(StandardCharsets.UTF_8);
+        int valueLength = value == null ? 0 : value.length;
+        long size = (long) RECORD_HEADER + key.length + valueLength;
+        writeLock.lock();
+        try {
+            Segment current = requireOpen();
+            // Checked under the lock so a concurrent put cannot slip in between the check and the tombstone.
+            if (value == null && !current.index.containsKey(composite)) {
+                return false;
+            }
+            current.ensureCapacity(size);
+            int at = current.end;
+            MappedByteBuffer buffer = current.buffer;
+            buffer.putInt(at + 4, key.length);
+            buffer.putInt(at + 8, value == null ? TOMBSTONE : valueLength);
+            buffer.put(at + RECORD_HEADER, key);
+            if (value != null) {
+                buffer.put(at + RECORD_HEADER + key.length, value);
+            }
+            buffer.putInt(at, checksum(buffer, at, (int) size));
+            current.end = at + (int) size;
+
+            Long previous = value == null
+                    ? current.index.remove(composite)
+                    : current.index.put(composite, location(at + RECORD_HEADER + key.length, valueLength));
+            if (previous != null) {
+                current.garbage += RECORD_HEADER + key.length + length(previous);
+            }
+            if (value == null) {
+                current.garbage += size;
+            }
+            return previous != null;
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot write to \"%s\"", pathS), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Segment requireOpen() {
+        Segment current = segment;
+        if (current == null) {
+            throw new RuntimeException("Did not connect to database", new NonInConnectedException());
+        }
+        return current;
+    }
+
+    private static String compositeKey(String tableId, String key) {
+        return tableId + '\u0000' + key;
+    }
+
+    private static long location(int offset, int length) {
+        return ((long) offset << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    private static int offset(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int length(long location) {
+        return (int) location;
+    }
+
+    private static int checksum(ByteBuffer buffer, int at, int size) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(at + 4, size - 4));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedKeyValueStore(" +
+                "path:" +
+                pathF.toString() +
+                ")";
+    }
+
+    /**
+     * 一個打開的存儲文件及其索引。壓縮會產生新的Segment，讀取者總是使用同一個Segment的索引和映射。
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+        private final Map<String, Long> index;
+        private volatile MappedByteBuffer buffer;
+        private int end;
+        private long garbage;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, Map<String, Long> index, int end, long garbage) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.index = index;
+            this.end = end;
+            this.garbage = garbage;
+        }
+
+        private static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long fileSize = channel.size();
+                if (fileSize > MAX_CAPACITY) {
+                    throw new IOException("Store file is larger than 2GB.");
+                }
+                int capacity = (int) Math.max(fileSize, INITIAL_CAPACITY);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                if (fileSize < FILE_HEADER || buffer.getInt(0) == 0) {
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException(String.format("\"%s\" is not a key-value store file.", path));
+                }
+                Segment segment = new Segment(channel, buffer, new ConcurrentHashMap<>(), FILE_HEADER, 0);
+                segment.recover(capacity);
+                return segment;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        private void recover(int capacity) {
+            int at = FILE_HEADER;
+            while (at + RECORD_HEADER <= capacity) {
+                int keyLength = buffer.getInt(at + 4);
+                int valueLength = buffer.getInt(at + 8);
+                long size = (long) RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+                if (keyLength <= 0 || valueLength < TOMBSTONE || at + size > capacity
+                        || buffer.getInt(at) != checksum(buffer, at, (int) size)) {
+                    break;
+                }
+                byte[] key = new byte[keyLength];
+                buffer.get(at + RECORD_HEADER, key);
+                String composite = new String(key, StandardCharsets.UTF_8);
+                Long previous = valueLength == TOMBSTONE
+                        ? index.remove(composite)
+                        : index.put(composite, location(at + RECORD_HEADER + keyLength, valueLength));
+                if (previous != null) {
+                    garbage += RECORD_HEADER + keyLength + length(previous);
+                }
+                if (valueLength == TOMBSTONE) {
+                    garbage += size;
+                }
+                at += (int) size;
+            }
+            end = at;
+            // Records after a torn one may still have valid checksums. If they were left in place, a later append
+            // ending on one of their boundaries would bring stale puts and deletes back on the next recovery.
+            int i = at;
+            for (; i < capacity && (i & 7) != 0; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            for (; i + 8 <= capacity; i += 8) {
+                if (buffer.getLong(i) != 0) {
+                    buffer.putLong(i, 0);
+                }
+            }
+            for (; i < capacity; i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+
+        private void ensureCapacity(long size) throws IOException {
+            long required = end + size;
+            if (required <= buffer.capacity()) {
+                return;
+            }
+            if (required > MAX_CAPACITY) {
+                throw new IOException("Store file would exceed 2GB, compact it or split the data.");
+            }
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity = Math.min(capacity * 2, MAX_CAPACITY);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        private Segment compact(Path path) throws IOException {
+            Path temp = path.resolveSibling(path.getFileName() + ".compact");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+                chunk.putInt(MAGIC).putInt(VERSION);
+                for (Map.Entry<String, Long> entry : index.entrySet()) {
+                    byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    int valueLength = length(entry.getValue());
+                    int size = RECORD_HEADER + key.length + valueLength;
+                    if (chunk.remaining() < size) {
+                        chunk.flip();
+                        while (chunk.hasRemaining()) {
+                            out.write(chunk);
+                        }
+                        chunk = ByteBuffer.allocate(Math.max(1 << 16, size));
+                    }
+                    int at = chunk.position();
+                    chunk.putInt(0).putInt(key.length).putInt(valueLength).put(key)
+                            .put(buffer.slice(offset(entry.getValue()), valueLength));
+                    chunk.putInt(at, checksum(chunk, at, size));
+                }
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    out.write(chunk);
+                }
+                out.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Windows refuses to replace a mapped file, and the mapping cannot be released while readers use it.
+                Files.deleteIfExists(temp);
+                throw new IOException("Cannot replace the store file, compaction is not supported on this platform.", e);
+            }
+            // Readers still holding this segment keep using its mapping, which stays valid after the channel is closed.
+            channel.close();
+            return open(path);
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.enumerate.BackupPhase;
+import me.axolotldev.api.sql.interfaces.BackupListener;
+import org.jetbrains.annotations.NotNull;
+import org.sqlite.SQLiteConnection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * OnlineBackup類在數據庫保持連接的情況下，使用SQLite的線上備份API將數據庫逐頁複製到文件。
+ * 備份使用獨立的連接，不佔用連接池，並在整個備份期間持有同一個讀事務，因此所有步驟複製的都是開始時的同一個快照。
+ * 在WAL模式下讀事務不會阻塞寫入，讀取和寫入都可以繼續進行，但備份期間的檢查點無法越過該快照，WAL文件會暫時變大。
+ * <p>
+ * 備份先寫入臨時文件，完成後才以原子方式移動到目標路徑，因此目標路徑不會出現不完整的備份。
+ *
+ * @since 2026-10-18
+ */
+public final class OnlineBackup {
+
+    private static final int SQLITE_OK = 0;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String source;
+    private final File destination;
+    private int pagesPerStep = 256;
+    private long stepDelay = 0;
+    private int busyRetries = 100;
+    private boolean compressed = false;
+    private BackupListener listener = (phase, done, total) -> {
+    };
+
+    OnlineBackup(@NotNull String source, @NotNull File destination) {
+        this.source = source;
+        this.destination = destination;
+    }
+
+    /**
+     * 設置每一步複製的頁數。
+     *
+     * @param pages 每步的頁數，-1表示在一步內複製整個數據庫
+     * @return 此OnlineBackup以便方法鏈接
+     */
+    public OnlineBackup setPagesPerStep(int pages) {
+        if (pages == 0 || pages < -1) {
+            throw new IllegalArgumentException("Pages per step must be positive or -1.");
+        }
+        this.pagesPerStep = pages;
+        return this;
+    }
+
+    /**
+     * 設置每一步之間暫停的時間，用於限制備份對磁盤的佔用。
+     *
+     * @param millis 暫停時間（毫秒），0表示不暫停
+     * @return 此OnlineBackup以便方法鏈接
+     */
+    public OnlineBackup setStepDelay(long millis) {
+        this.stepDelay = millis;
+        return this;
+    }
+
+    /**
+     * 設置數據庫被鎖定時每一步的重試次數，每次重試前等待100毫秒。
+     *
+     * @param retries 重試次數
+     * @return 此OnlineBackup以便方法鏈接
+     */
+    public OnlineBackup setBusyRetries(int retries) {
+        this.busyRetries = retries;
+        return this;
+    }
+
+    /**
+     * 設置是否以gzip壓縮輸出的快照。
+     *
+     * @param compressed 是否壓縮
+     * @return 此OnlineBackup以便方法鏈接
+     */
+    public OnlineBackup setCompressed(boolean compressed) {
+        this.compressed = compressed;
+        return this;
+    }
+
+    /**
+     * 設置接收進度的BackupListener。
+     *
+     * @param listener 進度回調
+     * @return 此OnlineBackup以便方法鏈接
+     */
+    public OnlineBackup setListener(@NotNull BackupListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * 在當前線程上執行備份，完成後返回。
+     *
+     * @return 備份文件
+     * @throws RuntimeException 如果備份或壓縮失敗，此時目標路徑不會被改動
+     */
+    public File run() {
+        Path target = destination.toPath().toAbsolutePath();
+        Path snapshot = target.resolveSibling(target.getFileName() + ".part");
+        Path packed = target.resolveSibling(target.getFileName() + ".gz.part");
+        try {
+            Files.deleteIfExists(snapshot);
+            copy(snapshot.toString());
+            if (compressed) {
+                compress(snapshot, packed);
+                Files.delete(snapshot);
+                Files.move(packed, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.move(snapshot, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            long size = Files.size(target);
+            listener.progress(BackupPhase.DONE, size, size);
+            return destination;
+        } catch (SQLException | IOException e) {
+            try {
+                Files.deleteIfExists(snapshot);
+                Files.deleteIfExists(packed);
+            } catch (IOException ignored) {
+            }
+            throw new RuntimeException(String.format("Cannot back up \"%s\" to \"%s\"", source, destination), e);
+        }
+    }
+
+    /**
+     * 在新的背景線程上執行備份。
+     *
+     * @return 備份完成時以備份文件完成的Future
+     */
+    public CompletableFuture<File> runAsync() {
+        CompletableFuture<File> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(run());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, "DevTool-Backup-" + destination.getName());
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private void copy(String snapshot) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(FileAsDataBase.SQLiteLink + source)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA busy_timeout=5000;");
+                // Holding one read transaction pins a WAL snapshot for every step, so commits from
+                // other connections no longer restart the copy from the first page.
+                connection.setAutoCommit(false);
+                statement.executeQuery("SELECT count(*) FROM sqlite_master;").close();
+            }
+            int rc = connection.unwrap(SQLiteConnection.class).getDatabase().backup("main", snapshot,
+                    (remaining, pageCount) -> {
+                        listener.progress(BackupPhase.COPYING, pageCount - remaining, pageCount);
+                        if (stepDelay > 0 && remaining > 0) {
+                            pause();
+                        }
+                    }, 100, busyRetries, pagesPerStep);
+            connection.rollback();
+            if (rc != SQLITE_OK) {
+                throw new SQLException(String.format("Backup failed with SQLite error code %d", rc), null, rc);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(stepDelay);
+        } catch (InterruptedException e) {
+            // The native backup loop cannot be cancelled from here, so skip the remaining delays.
+            stepDelay = 0;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void compress(Path snapshot, Path packed) throws IOException {
+        long total = Files.size(snapshot);
+        long done = 0;
+        long reported = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(snapshot);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(packed), BUFFER_SIZE)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+                done += read;
+                if (done - reported >= 1 << 20 || done == total) {
+                    listener.progress(BackupPhase.COMPRESSING, done, total);
+                    reported = done;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OnlineBackup(" +
+                "source:" + source +
+                ", destination:" + destination +
+                ", compressed:" + compressed +
+                ")";
+    }
+}
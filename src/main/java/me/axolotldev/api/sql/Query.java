@@ -0,0 +1,347 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.enumerate.Operator;
+import me.axolotldev.api.sql.interfaces.RowMapper;
+import me.axolotldev.api.sql.util.Row;
+import me.axolotldev.api.sql.util.TypedRowMapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Query類以鏈式調用構建對單個表的SELECT查詢，所有條件值都以參數綁定。
+ * 支持選擇需要的列、比較條件、排序、LIMIT/OFFSET，以及基於上一頁最後一行的鍵集分頁。
+ * <p>
+ * 鍵集分頁以排序列的值定位下一頁，而不是跳過前面的行，因此翻到後面的頁數時不會變慢。
+ * 排序列組合必須能唯一確定一行，通常在最後加上主鍵列。
+ *
+ * @since 2026-10-18
+ */
+public final class Query {
+
+    private final FileAsDataBase database;
+    private final String tableId;
+    private final List<String> columns = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+    private final List<Object> params = new ArrayList<>();
+    private final List<String> orderColumns = new ArrayList<>();
+    private final List<Boolean> descending = new ArrayList<>();
+    private List<Object> after;
+    private int limit = -1;
+    private int offset = 0;
+
+    Query(@NotNull FileAsDataBase database, @NotNull String tableId) {
+        this.database = database;
+        this.tableId = tableId;
+    }
+
+    /**
+     * 指定要讀取的列，未指定時讀取所有列。
+     *
+     * @param columns 列名
+     * @return 此Query以便方法鏈接
+     */
+    public Query columns(@NotNull String... columns) {
+        Collections.addAll(this.columns, columns);
+        return this;
+    }
+
+    /**
+     * 加入一個等值條件，值為null時匹配NULL。
+     *
+     * @param column 列名
+     * @param value  要求相等的值
+     * @return 此Query以便方法鏈接
+     */
+    public Query where(@NotNull String column, @Nullable Object value) {
+        return value == null ? where(column, Operator.IS_NULL, null) : where(column, Operator.EQUALS, value);
+    }
+
+    /**
+     * 加入一個比較條件，所有條件以AND連接。
+     *
+     * @param column   列名
+     * @param operator 比較運算符
+     * @param value    比較的值，IN需要一個Collection，IS_NULL和IS_NOT_NULL會忽略此值
+     * @return 此Query以便方法鏈接
+     * @throws IllegalArgumentException 如果IN的值不是Collection，或其他運算符的值為null
+     */
+    public Query where(@NotNull String column, @NotNull Operator operator, @Nullable Object value) {
+        switch (operator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+                conditions.add(column + " " + operator.getSql());
+                break;
+            case IN:
+                if (!(value instanceof Collection<?> values)) {
+                    throw new IllegalArgumentException("IN requires a Collection value.");
+                }
+                conditions.add(column + " IN (" + String.join(", ", Collections.nCopies(values.size(), "?")) + ")");
+                params.addAll(values);
+                break;
+            default:
+                if (value == null) {
+                    throw new IllegalArgumentException(String.format("%s requires a value, use IS_NULL to match NULL.", operator));
+                }
+                conditions.add(column + " " + operator.getSql() + " ?");
+                params.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * 按指定列升序排序。
+     *
+     * @param column 列名
+     * @return 此Query以便方法鏈接
+     */
+    public Query orderBy(@NotNull String column) {
+        return orderBy(column, false);
+    }
+
+    /**
+     * 按指定列排序，可多次調用以加入次要排序列。
+     *
+     * @param column 列名
+     * @param desc   是否降序
+     * @return 此Query以便方法鏈接
+     */
+    public Query orderBy(@NotNull String column, boolean desc) {
+        orderColumns.add(column);
+        descending.add(desc);
+        return this;
+    }
+
+    /**
+     * 限制返回的行數。
+     *
+     * @param limit 最大行數
+     * @return 此Query以便方法鏈接
+     */
+    public Query limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * 跳過前面的行。頁數較大時應改用{@link #after(Object...)}。
+     *
+     * @param offset 跳過的行數
+     * @return 此Query以便方法鏈接
+     */
+    public Query offset(int offset) {
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * 只返回排在指定鍵之後的行，用於鍵集分頁。值的順序與{@link #orderBy(String, boolean)}的調用順序相同。
+     * 值可以為null，並按SQLite的規則排序：NULL在升序時排在最前，在降序時排在最後。
+     *
+     * @param values 上一頁最後一行的排序列的值，可以包含null
+     * @return 此Query以便方法鏈接
+     * @throws IllegalArgumentException 如果值的數量與排序列數量不同，之後再加入排序列會使執行查詢時拋出IllegalStateException
+     */
+    public Query after(@Nullable Object @NotNull ... values) {
+        if (values.length != orderColumns.size() || values.length == 0) {
+            throw new IllegalArgumentException("Keyset pagination needs one value per order-by column.");
+        }
+        // List.of() rejects null, but a nullable sort column legitimately ends a page on NULL.
+        this.after = Arrays.asList(values.clone());
+        return this;
+    }
+
+    /**
+     * 只返回排在指定行之後的行，從行中讀取排序列的值。
+     *
+     * @param last 上一頁的最後一行，為null時不做任何事
+     * @return 此Query以便方法鏈接
+     */
+    public Query after(@Nullable Row last) {
+        if (last == null) {
+            return this;
+        }
+        Object[] values = new Object[orderColumns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = last.get(orderColumns.get(i));
+        }
+        return after(values);
+    }
+
+    /**
+     * 執行查詢並返回與連接分離的行。
+     *
+     * @return 結果行
+     * @throws RuntimeException 如果查詢失敗
+     */
+    public List<Row> list() {
+        return list(Row.mapper());
+    }
+
+    /**
+     * 執行查詢並將每一行映射到指定的record或POJO。
+     *
+     * @param type 要映射到的類型
+     * @param <T>  映射結果的類型
+     * @return 映射後的對象列表
+     * @throws RuntimeException 如果查詢失敗
+     */
+    public <T> List<T> list(@NotNull Class<T> type) {
+        return list(TypedRowMapper.of(type));
+    }
+
+    /**
+     * 執行查詢並使用指定的RowMapper映射每一行。
+     *
+     * @param mapper 行映射器
+     * @param <T>    映射結果的類型
+     * @return 映射後的對象列表
+     * @throws RuntimeException 如果查詢失敗
+     */
+    public <T> List<T> list(@NotNull RowMapper<T> mapper) {
+        List<Object> bound = new ArrayList<>();
+        String command = toSql(bound);
+        try {
+            return database.runSearch(command, mapper, bound.toArray());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 執行查詢並返回第一行。
+     *
+     * @param type 要映射到的類型
+     * @param <T>  映射結果的類型
+     * @return 第一行，如果沒有結果則返回null
+     */
+    @Nullable
+    public <T> T first(@NotNull Class<T> type) {
+        int previous = limit;
+        limit = 1;
+        try {
+            List<T> result = list(type);
+            return result.isEmpty() ? null : result.get(0);
+        } finally {
+            limit = previous;
+        }
+    }
+
+    /**
+     * 以游標方式執行查詢，逐行讀取結果，使用完畢後必須關閉Stream。
+     *
+     * @param fetchSize 每次從數據庫讀取的行數
+     * @return 結果行的Stream
+     */
+    public Stream<Row> stream(int fetchSize) {
+        List<Object> bound = new ArrayList<>();
+        return database.streamSearch(toSql(bound), fetchSize, Row.mapper(), bound.toArray());
+    }
+
+    /**
+     * 計算符合條件的行數，忽略排序和分頁。
+     *
+     * @return 行數
+     * @throws RuntimeException 如果查詢失敗
+     */
+    public long count() {
+        List<Object> bound = new ArrayList<>(params);
+        StringBuilder sb = new StringBuilder("SELECT count(*) FROM ").append(tableId);
+        appendWhere(sb, conditions);
+        try {
+            return database.runSearch(sb.append(';').toString(), rs -> rs.getLong(1), bound.toArray()).get(0);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 獲取此查詢的SQL語句。
+     *
+     * @return 帶有?佔位符的SQL語句
+     */
+    public String toSql() {
+        return toSql(new ArrayList<>());
+    }
+
+    private String toSql(List<Object> bound) {
+        StringBuilder sb = new StringBuilder("SELECT ")
+                .append(columns.isEmpty() ? "*" : String.join(", ", columns))
+                .append(" FROM ").append(tableId);
+        List<String> where = new ArrayList<>(conditions);
+        bound.addAll(params);
+        if (after != null) {
+            where.add(keysetCondition(bound));
+        }
+        appendWhere(sb, where);
+        if (!orderColumns.isEmpty()) {
+            sb.append(" ORDER BY ");
+            for (int i = 0; i < orderColumns.size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(orderColumns.get(i)).append(descending.get(i) ? " DESC" : " ASC");
+            }
+        }
+        if (limit >= 0 || offset > 0) {
+            sb.append(" LIMIT ").append(limit).append(" OFFSET ").append(offset);
+        }
+        return sb.append(';').toString();
+    }
+
+    private String keysetCondition(List<Object> bound) {
+        // orderBy() may still be called after after(), so the sizes are only final here.
+        if (after.size() != orderColumns.size()) {
+            throw new IllegalStateException("Keyset pagination needs one value per order-by column.");
+        }
+        // (a > ?) OR (a = ? AND b > ?) ..., which also works when the columns sort in different directions.
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < orderColumns.size(); i++) {
+            sb.append(i == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                appendEquals(sb, orderColumns.get(j), after.get(j), bound);
+                sb.append(" AND ");
+            }
+            appendFollowing(sb, orderColumns.get(i), descending.get(i), after.get(i), bound);
+            sb.append(')');
+        }
+        return sb.append(')').toString();
+    }
+
+    private static void appendEquals(StringBuilder sb, String column, Object value, List<Object> bound) {
+        if (value == null) {
+            sb.append(column).append(" IS NULL");
+        } else {
+            sb.append(column).append(" = ?");
+            bound.add(value);
+        }
+    }
+
+    private static void appendFollowing(StringBuilder sb, String column, boolean desc, Object value, List<Object> bound) {
+        // SQLite sorts NULL before every other value, so it comes first ascending and last descending.
+        if (value == null) {
+            sb.append(desc ? "0" : column + " IS NOT NULL");
+        } else if (desc) {
+            sb.append('(').append(column).append(" < ? OR ").append(column).append(" IS NULL)");
+            bound.add(value);
+        } else {
+            sb.append(column).append(" > ?");
+            bound.add(value);
+        }
+    }
+
+    private static void appendWhere(StringBuilder sb, List<String> where) {
+        if (!where.isEmpty()) {
+            sb.append(" WHERE ").append(String.join(" AND ", where));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Query(" + toSql() + ")";
+    }
+}
@@ -0,0 +1,513 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.interfaces.BaseDB;
+import me.axolotldev.api.sql.util.ConnectionProfile;
+import me.axolotldev.api.sql.util.TableUnit;
+import org.jetbrains.annotations.NotNull;
+
+import javax.sql.rowset.CachedRowSet;
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+
+/**
+ * ShardedDataBase類將數據分散到多個FileAsDataBase文件中，每個分片有自己的寫鎖，因此寫入吞吐量會隨分片數量增加。
+ * 每個表需要先以{@link #setShardKey(String, String)}指定分片鍵列，或以{@link #setShardRouter(String, ToIntFunction)}指定路由函數。
+ * 條件中包含分片鍵的讀取只會訪問一個分片，其餘讀取會在ForkJoinPool上並行查詢所有分片並按分片順序合併結果，
+ * 因此ORDER BY和LIMIT只在每個分片內生效。
+ * <p>
+ * 分片鍵的哈希值在不同的JVM之間是穩定的，但改變分片數量後已有的數據不會被重新分配。
+ * 並行查詢使用的線程池在{@link #disconnect()}時關閉，再次使用時會重新創建。
+ *
+ * @since 2026-10-18
+ */
+public final class ShardedDataBase implements BaseDB {
+
+    private final List<FileAsDataBase> shards;
+    private ForkJoinPool executor;
+    private final Map<String, Router> routers = new ConcurrentHashMap<>();
+
+    /**
+     * 在指定目錄中使用shard-0.db到shard-(N-1).db構造一個新的ShardedDataBase，每個分片只使用一個連接。
+     *
+     * @param directory 存放分片文件的目錄
+     * @param shards    分片數量
+     */
+    public ShardedDataBase(String directory, int shards) {
+        this(directory, shards, 1, ConnectionProfile.DEFAULT);
+    }
+
+    /**
+     * 在指定目錄中使用shard-0.db到shard-(N-1).db構造一個新的ShardedDataBase。
+     *
+     * @param directory 存放分片文件的目錄
+     * @param shards    分片數量
+     * @param poolSize  每個分片的連接池大小
+     * @param profile   每個分片打開連接時使用的配置
+     */
+    public ShardedDataBase(String directory, int shards, int poolSize, ConnectionProfile profile) {
+        this(createShards(directory, shards, poolSize, profile));
+    }
+
+    /**
+     * 使用已創建的FileAsDataBase作為分片構造一個新的ShardedDataBase，列表的順序即為分片的編號。
+     *
+     * @param shards 分片列表
+     */
+    public ShardedDataBase(@NotNull List<FileAsDataBase> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    private static List<FileAsDataBase> createShards(String directory, int shards, int poolSize, ConnectionProfile profile) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required.");
+        }
+        List<FileAsDataBase> list = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            list.add(new FileAsDataBase(new File(directory, "shard-" + i + ".db").getPath(), poolSize, profile));
+        }
+        return list;
+    }
+
+    /**
+     * 獲取分片數量。
+     *
+     * @return 分片數量
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * 獲取指定編號的分片，以便直接操作。
+     *
+     * @param index 分片編號
+     * @return 分片
+     */
+    public FileAsDataBase getShard(int index) {
+        return shards.get(index);
+    }
+
+    /**
+     * 獲取指定鍵按哈希路由到的分片。
+     *
+     * @param key 分片鍵的值
+     * @return 分片
+     */
+    public FileAsDataBase getShardFor(@NotNull Object key) {
+        return shards.get(shardOf(key));
+    }
+
+    /**
+     * 計算指定鍵按哈希路由到的分片編號。整數以數值計算，其他類型以字符串形式計算。
+     *
+     * @param key 分片鍵的值
+     * @return 分片編號
+     */
+    public int shardOf(@NotNull Object key) {
+        long h;
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+            h = ((Number) key).longValue();
+        } else if (key instanceof Enum<?> e) {
+            h = e.name().hashCode();
+        } else {
+            h = key.toString().hashCode();
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shards.size());
+    }
+
+    /**
+     * 指定表按哪一列的哈希值分片。
+     *
+     * @param tableId 表的ID
+     * @param column  分片鍵列
+     */
+    public void setShardKey(@NotNull String tableId, @NotNull String column) {
+        routers.put(tableId.toLowerCase(), new Router(column, row -> {
+            Object value = valueOf(row, column);
+            if (value == null) {
+                throw new IllegalArgumentException(String.format("Missing shard key \"%s\" for table \"%s\"", column, tableId));
+            }
+            return shardOf(value);
+        }));
+    }
+
+    /**
+     * 指定表以自定義函數選擇分片，函數接收要寫入的行並返回分片編號。
+     * 使用自定義函數的表在讀取時總是查詢所有分片。
+     *
+     * @param tableId 表的ID
+     * @param router  返回分片編號的函數
+     */
+    public void setShardRouter(@NotNull String tableId, @NotNull ToIntFunction<Map<String, Object>> router) {
+        routers.put(tableId.toLowerCase(), new Router(null, router));
+    }
+
+    /**
+     * 連接所有分片。
+     */
+    @Override
+    public void connect() {
+        forEachShard((shard, i) -> {
+            shard.connect();
+            return null;
+        });
+    }
+
+    /**
+     * 斷開所有分片的連接，並關閉並行查詢使用的線程池。
+     */
+    @Override
+    public void disconnect() {
+        try {
+            forEachShard((shard, i) -> {
+                shard.disconnect();
+                return null;
+            });
+        } finally {
+            ForkJoinPool current;
+            synchronized (this) {
+                current = executor;
+                executor = null;
+            }
+            if (current != null) {
+                current.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 在所有分片上並行執行一個非查詢的SQL命令，通常用於創建表或索引。
+     *
+     * @param command 要執行的SQL命令
+     * @throws SQLException 如果任何分片執行失敗
+     */
+    @Override
+    public void runNormal(String command) throws SQLException {
+        try {
+            forEachShard((shard, i) -> {
+                shard.runNormal(command);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 在所有分片上並行執行查詢，並將結果按分片順序合併為一個與連接分離的ResultSet。
+     *
+     * @param command 要執行的SQL命令
+     * @return 合併後的ResultSet
+     * @throws SQLException 如果任何分片查詢失敗
+     */
+    @Override
+    public ResultSet runSearch(String command) throws SQLException {
+        try {
+            return concat(forEachShard((shard, i) -> shard.runSearch(command)));
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 在所有分片上並行執行參數化查詢，並將每一行映射到指定的record或POJO後合併。
+     *
+     * @param command 帶有?佔位符的SQL查詢
+     * @param type    要映射到的類型
+     * @param params  依序綁定到佔位符的參數
+     * @param <T>     映射結果的類型
+     * @return 所有分片的結果
+     * @throws RuntimeException 如果任何分片查詢失敗
+     */
+    public <T> List<T> runSearch(String command, Class<T> type, Object... params) {
+        return merge(forEachShard((shard, i) -> shard.runSearch(command, type, params)));
+    }
+
+    /**
+     * 在所有分片上創建表。
+     *
+     * @param tableId 要創建的表的ID
+     * @param data    表的數據模式
+     */
+    public void createTable(String tableId, TableUnit... data) {
+        forEachShard((shard, i) -> {
+            shard.createTable(tableId, data);
+            return null;
+        });
+    }
+
+    /**
+     * 在所有分片上創建索引。
+     *
+     * @param indexName 索引的名稱
+     * @param tableId   表的ID
+     * @param unique    是否為唯一索引
+     * @param columns   索引包含的列
+     */
+    public void createIndex(String indexName, String tableId, boolean unique, String... columns) {
+        forEachShard((shard, i) -> {
+            shard.createIndex(indexName, tableId, unique, columns);
+            return null;
+        });
+    }
+
+    /**
+     * 將一行寫入其分片鍵所屬的分片。
+     *
+     * @param tableId 表的ID
+     * @param value   包含列名和相應值的Map
+     */
+    public void writeToTable(String tableId, Map<String, Object> value) {
+        shards.get(route(tableId, value)).writeToTable(tableId, value);
+    }
+
+    /**
+     * 將多行按分片分組後並行地以批次寫入，每個分片在自己的事務中提交。
+     *
+     * @param tableId 表的ID
+     * @param rows    要寫入的行
+     * @return 寫入的行數
+     * @throws RuntimeException 如果任何分片寫入失敗，失敗的分片會回滾，其他分片已提交的寫入不受影響
+     */
+    public long writeBatch(String tableId, List<Map<String, Object>> rows) {
+        List<List<Map<String, Object>>> groups = group(tableId, rows);
+        return sum(forEachShard((shard, i) -> {
+            List<Map<String, Object>> group = groups.get(i);
+            return group.isEmpty() ? 0L : shard.writeBatch(tableId, group);
+        }));
+    }
+
+    /**
+     * 在其分片鍵所屬的分片上插入或更新一行。
+     *
+     * @param tableId    表的ID
+     * @param keyColumns 用於判斷衝突的鍵列
+     * @param values     包含列名和相應值的Map
+     * @return 受影響的行數
+     */
+    public int upsert(String tableId, List<String> keyColumns, Map<String, Object> values) {
+        return shards.get(route(tableId, values)).upsert(tableId, keyColumns, values);
+    }
+
+    /**
+     * 將多行按分片分組後並行地插入或更新。
+     *
+     * @param tableId    表的ID
+     * @param keyColumns 用於判斷衝突的鍵列
+     * @param rows       要寫入的行
+     * @return 寫入的行數
+     */
+    public long upsertBatch(String tableId, List<String> keyColumns, List<Map<String, Object>> rows) {
+        List<List<Map<String, Object>>> groups = group(tableId, rows);
+        return sum(forEachShard((shard, i) -> {
+            List<Map<String, Object>> group = groups.get(i);
+            return group.isEmpty() ? 0L : shard.upsertBatch(tableId, keyColumns, group);
+        }));
+    }
+
+    /**
+     * 讀取符合條件的行。條件包含分片鍵時只查詢一個分片，否則並行查詢所有分片。
+     *
+     * @param tableId 表的ID
+     * @param where   列名與值的等值條件
+     * @param type    要映射到的類型
+     * @param <T>     映射結果的類型
+     * @return 符合條件的行
+     */
+    public <T> List<T> getTableValues(String tableId, Map<String, Object> where, Class<T> type) {
+        int shard = routeWhere(tableId, where);
+        if (shard >= 0) {
+            return shards.get(shard).getTableValues(tableId, where, type);
+        }
+        return merge(forEachShard((s, i) -> s.getTableValues(tableId, where, type)));
+    }
+
+    /**
+     * 更新符合條件的行。條件包含分片鍵時只更新一個分片，否則更新所有分片。
+     * 更新分片鍵本身不會把行移到新的分片。
+     *
+     * @param tableId 表的ID
+     * @param set     要更新的列名和新值
+     * @param where   列名與值的等值條件
+     * @return 受影響的行數
+     */
+    public int update(String tableId, Map<String, Object> set, Map<String, Object> where) {
+        int shard = routeWhere(tableId, where);
+        if (shard >= 0) {
+            return shards.get(shard).update(tableId, set, where);
+        }
+        return (int) sum(forEachShard((s, i) -> (long) s.update(tableId, set, where)));
+    }
+
+    /**
+     * 刪除符合條件的行。條件包含分片鍵時只刪除一個分片中的行，否則刪除所有分片中的行。
+     *
+     * @param tableId 表的ID
+     * @param where   列名與值的等值條件
+     * @return 受影響的行數
+     */
+    public int deleteFromTable(String tableId, Map<String, Object> where) {
+        int shard = routeWhere(tableId, where);
+        if (shard >= 0) {
+            return shards.get(shard).deleteFromTable(tableId, where);
+        }
+        return (int) sum(forEachShard((s, i) -> (long) s.deleteFromTable(tableId, where)));
+    }
+
+    private int route(String tableId, Map<String, Object> row) {
+        Router router = routers.get(tableId.toLowerCase());
+        if (router == null) {
+            throw new IllegalStateException(String.format("No shard key set for table \"%s\"", tableId));
+        }
+        int shard = router.function.applyAsInt(row);
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException(String.format("Shard %d out of range for table \"%s\"", shard, tableId));
+        }
+        return shard;
+    }
+
+    private int routeWhere(String tableId, Map<String, Object> where) {
+        Router router = routers.get(tableId.toLowerCase());
+        if (router == null || router.column == null) {
+            return -1;
+        }
+        Object value = valueOf(where, router.column);
+        return value == null ? -1 : shardOf(value);
+    }
+
+    private List<List<Map<String, Object>>> group(String tableId, List<Map<String, Object>> rows) {
+        List<List<Map<String, Object>>> groups = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (Map<String, Object> row : rows) {
+            groups.get(route(tableId, row)).add(row);
+        }
+        return groups;
+    }
+
+    private static Object valueOf(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        if (value == null) {
+            for (Map.Entry<String, Object> entry : row.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(column)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return value;
+    }
+
+    private <R> List<R> forEachShard(ShardTask<R> task) {
+        List<Callable<R>> calls = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            final int index = i;
+            calls.add(() -> task.apply(shards.get(index), index));
+        }
+        List<R> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<R> future : executor().invokeAll(calls)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return results;
+    }
+
+    private synchronized ForkJoinPool executor() {
+        if (executor == null) {
+            executor = new ForkJoinPool(shards.size());
+        }
+        return executor;
+    }
+
+    private static <T> List<T> merge(List<List<T>> parts) {
+        int size = 0;
+        for (List<T> part : parts) {
+            size += part.size();
+        }
+        List<T> merged = new ArrayList<>(size);
+        parts.forEach(merged::addAll);
+        return merged;
+    }
+
+    private static long sum(List<Long> parts) {
+        long total = 0;
+        for (long part : parts) {
+            total += part;
+        }
+        return total;
+    }
+
+    private static ResultSet concat(List<ResultSet> parts) throws SQLException {
+        // Each shard already returns a detached CachedRowSet, so the rows of the others are appended to the first.
+        CachedRowSet merged = (CachedRowSet) parts.get(0);
+        int columns = merged.getMetaData().getColumnCount();
+        for (int p = 1; p < parts.size(); p++) {
+            ResultSet part = parts.get(p);
+            while (part.next()) {
+                merged.afterLast();
+                merged.moveToInsertRow();
+                for (int c = 1; c <= columns; c++) {
+                    Object value = part.getObject(c);
+                    if (value == null) {
+                        merged.updateNull(c);
+                    } else {
+                        merged.updateObject(c, value);
+                    }
+                }
+                merged.insertRow();
+                merged.moveToCurrentRow();
+            }
+            part.close();
+        }
+        merged.beforeFirst();
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardedDataBase(" +
+                "shards:" + shards.size() +
+                ")";
+    }
+
+    @FunctionalInterface
+    private interface ShardTask<R> {
+        R apply(FileAsDataBase shard, int index) throws Exception;
+    }
+
+    private record Router(String column, ToIntFunction<Map<String, Object>> function) {
+    }
+}
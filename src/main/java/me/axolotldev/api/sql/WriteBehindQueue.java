@@ -0,0 +1,214 @@
+package me.axolotldev.api.sql;
+
+import me.axolotldev.api.sql.enumerate.OverflowPolicy;
+import me.axolotldev.api.sql.interfaces.SQLFunction;
+import me.axolotldev.api.sql.util.ConnectionPool;
+import me.axolotldev.api.tool.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WriteBehindQueue類在專用的寫入線程上非同步執行寫入操作。
+ * 寫入線程會把隊列中累積的操作合併到同一個事務中執行。
+ *
+ * @since 2026-10-18
+ */
+final class WriteBehindQueue {
+
+    private static final Logger logger = new Logger("WriteBehindQueue");
+
+    private final FileAsDataBase database;
+    private final BlockingQueue<Operation<?>> queue;
+    private final OverflowPolicy policy;
+    private final int maxBatch;
+    private final Thread writer;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private volatile boolean accepting = true;
+
+    WriteBehindQueue(@NotNull FileAsDataBase database, int capacity, @NotNull OverflowPolicy policy, int maxBatch) {
+        this.database = database;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.maxBatch = maxBatch;
+        this.writer = new Thread(this::run, "DevTool-WriteBehind-" + database);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 根據溢出策略將寫入操作加入隊列。
+     *
+     * @param action 要在寫入線程上執行的操作
+     * @param <T>    操作結果的類型
+     * @return 操作完成時完成的Future
+     */
+    <T> CompletableFuture<T> submit(@NotNull SQLFunction<ConnectionPool.PooledConnection, T> action) {
+        Operation<T> op = new Operation<>(action);
+        // close() waits for this count to reach zero, so an operation is never enqueued after its final drain.
+        submitting.incrementAndGet();
+        try {
+            if (!accepting) {
+                op.future.completeExceptionally(new RejectedExecutionException("Write-behind queue is closed."));
+                return op.future;
+            }
+            enqueue(op);
+        } finally {
+            submitting.decrementAndGet();
+        }
+        return op.future;
+    }
+
+    private void enqueue(Operation<?> op) {
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(op);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    op.future.completeExceptionally(e);
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(op)) {
+                    Operation<?> dropped = queue.poll();
+                    if (dropped != null) {
+                        dropped.future.completeExceptionally(new RejectedExecutionException("Dropped by write-behind overflow policy."));
+                    }
+                }
+                break;
+            default:
+                if (!queue.offer(op)) {
+                    op.future.completeExceptionally(new RejectedExecutionException("Write-behind queue is full."));
+                }
+        }
+    }
+
+    /**
+     * 獲取隊列中等待執行的操作數量。
+     *
+     * @return 等待中的操作數量
+     */
+    int pending() {
+        return queue.size();
+    }
+
+    /**
+     * 停止接受新的操作，等待隊列中所有操作寫入完畢後結束寫入線程。
+     * 與此方法同時提交、未能在寫入線程結束前入隊的操作會以RejectedExecutionException完成。
+     */
+    void close() {
+        accepting = false;
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // Keep draining while submitters are in flight, which also frees space for any blocked in put().
+        do {
+            Operation<?> op;
+            while ((op = queue.poll()) != null) {
+                op.future.completeExceptionally(new RejectedExecutionException("Write-behind queue is closed."));
+            }
+            Thread.yield();
+        } while (submitting.get() > 0 || !queue.isEmpty());
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Operation<?>> batch = new ArrayList<>(maxBatch);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Operation<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                logger.severe(e);
+                batch.forEach(op -> op.future.completeExceptionally(e));
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Operation<?>> batch) {
+        ConnectionPool.PooledConnection pc;
+        try {
+            pc = database.acquireWriter();
+        } catch (SQLException | RuntimeException e) {
+            batch.forEach(op -> op.future.completeExceptionally(e));
+            return;
+        }
+        Connection connection = pc.connection();
+        try {
+            connection.setAutoCommit(false);
+            for (Operation<?> op : batch) {
+                op.execute(pc);
+            }
+            connection.commit();
+            batch.forEach(Operation::complete);
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            } catch (SQLException ex) {
+                logger.severe(ex);
+            }
+            // One statement failed the whole transaction, retry each one on its own.
+            for (Operation<?> op : batch) {
+                try {
+                    op.execute(pc);
+                    op.complete();
+                } catch (SQLException ex) {
+                    op.future.completeExceptionally(ex);
+                }
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+            }
+            database.releaseWriter(pc, false);
+        }
+    }
+
+    private static final class Operation<T> {
+
+        private final SQLFunction<ConnectionPool.PooledConnection, T> action;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private Operation(SQLFunction<ConnectionPool.PooledConnection, T> action) {
+            this.action = action;
+        }
+
+        private void execute(ConnectionPool.PooledConnection pc) throws SQLException {
+            result = action.apply(pc);
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * BackupPhase枚舉表示線上備份所處的階段。
+ *
+ * @since 2026-10-18
+ */
+public enum BackupPhase {
+
+    /**
+     * 正在逐頁複製數據庫，進度以頁數計算。
+     */
+    COPYING,
+
+    /**
+     * 正在壓縮複製出來的快照，進度以字節數計算。
+     */
+    COMPRESSING,
+
+    /**
+     * 備份已完成，進度以最終文件的字節數計算。
+     */
+    DONE
+}
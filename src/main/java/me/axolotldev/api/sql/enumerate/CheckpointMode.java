@@ -0,0 +1,29 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * CheckpointMode枚舉表示將WAL寫回數據庫文件時的方式（PRAGMA wal_checkpoint）。
+ *
+ * @since 2026-10-18
+ */
+public enum CheckpointMode {
+
+    /**
+     * 盡可能寫回，不等待讀取者或寫入者。
+     */
+    PASSIVE,
+
+    /**
+     * 等待寫入者結束後寫回全部內容。
+     */
+    FULL,
+
+    /**
+     * 與FULL相同，並等待讀取者結束，使下一個寫入者從WAL開頭重新寫入。
+     */
+    RESTART,
+
+    /**
+     * 與RESTART相同，並將WAL文件截斷為零。
+     */
+    TRUNCATE
+}
@@ -0,0 +1,39 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * JournalMode枚舉表示SQLite的日誌模式（PRAGMA journal_mode）。
+ *
+ * @since 2026-10-18
+ */
+public enum JournalMode {
+
+    /**
+     * 回滾日誌，事務結束後刪除日誌文件，是SQLite的默認模式。
+     */
+    DELETE,
+
+    /**
+     * 回滾日誌，事務結束後將日誌文件截斷為零。
+     */
+    TRUNCATE,
+
+    /**
+     * 回滾日誌，事務結束後保留日誌文件並覆寫其標頭。
+     */
+    PERSIST,
+
+    /**
+     * 日誌只保存在內存中，崩潰時可能損壞數據庫。
+     */
+    MEMORY,
+
+    /**
+     * 預寫日誌，讀取和寫入可以同時進行。
+     */
+    WAL,
+
+    /**
+     * 不使用日誌，無法回滾事務。
+     */
+    OFF
+}
@@ -0,0 +1,74 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * Operator枚舉表示查詢條件中使用的比較運算符。
+ *
+ * @since 2026-10-18
+ */
+public enum Operator {
+
+    /**
+     * 等於。
+     */
+    EQUALS("="),
+
+    /**
+     * 不等於。
+     */
+    NOT_EQUALS("<>"),
+
+    /**
+     * 小於。
+     */
+    LESS("<"),
+
+    /**
+     * 小於或等於。
+     */
+    LESS_OR_EQUAL("<="),
+
+    /**
+     * 大於。
+     */
+    GREATER(">"),
+
+    /**
+     * 大於或等於。
+     */
+    GREATER_OR_EQUAL(">="),
+
+    /**
+     * 符合LIKE模式。
+     */
+    LIKE("LIKE"),
+
+    /**
+     * 在集合之中，值必須是一個Collection。
+     */
+    IN("IN"),
+
+    /**
+     * 為NULL，不需要值。
+     */
+    IS_NULL("IS NULL"),
+
+    /**
+     * 不為NULL，不需要值。
+     */
+    IS_NOT_NULL("IS NOT NULL");
+
+    private final String sql;
+
+    Operator(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 獲取運算符的SQL表示形式。
+     *
+     * @return SQL運算符
+     */
+    public String getSql() {
+        return sql;
+    }
+}
@@ -0,0 +1,24 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * OverflowPolicy枚舉表示非同步寫入隊列已滿時的處理方式。
+ *
+ * @since 2026-10-18
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 阻塞調用者直到隊列有空位。
+     */
+    BLOCK,
+
+    /**
+     * 丟棄隊列中最舊的寫入，其Future會以異常完成。
+     */
+    DROP_OLDEST,
+
+    /**
+     * 拒絕新的寫入，其Future會以異常完成。
+     */
+    FAIL
+}
@@ -42,6 +42,14 @@ public enum SQLStatus {
      */
     ERROR(5);
 
+    private static final SQLStatus[] byLevel = new SQLStatus[7];
+
+    static {
+        for (SQLStatus ss : values()) {
+            byLevel[ss.level + 1] = ss;
+        }
+    }
+
     private final int level;
 
     /**
@@ -60,11 +68,42 @@ public enum SQLStatus {
      * @return 與指定級別相關聯的SQLStatus枚舉常量，如果找不到匹配項則返回UNKNOWN
      */
     public static SQLStatus getByLevel(int level) {
-        for (SQLStatus ss : values()) {
-            if (ss.level == level) {
-                return ss;
-            }
+        if (level < -1 || level >= byLevel.length - 1) {
+            return UNKNOWN;
+        }
+        return byLevel[level + 1];
+    }
+
+    /**
+     * 獲取此狀態的級別。
+     *
+     * @return 表示狀態的級別
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * 檢查是否允許從此狀態轉換到指定的狀態。
+     *
+     * @param next 要轉換到的狀態
+     * @return 如果允許轉換則返回true
+     */
+    public boolean canTransitionTo(SQLStatus next) {
+        switch (this) {
+            case DISCONNECTED:
+                return next == CONNECTING;
+            case CONNECTING:
+                return next == CONNECTED || next == ERROR;
+            case CONNECTED:
+            case PROCESSING:
+                return next == CONNECTED || next == PROCESSING || next == DISCONNECTING || next == ERROR;
+            case DISCONNECTING:
+                return next == DISCONNECTED || next == ERROR;
+            case ERROR:
+                return next == CONNECTING || next == CONNECTED || next == DISCONNECTING;
+            default:
+                return true;
         }
-        return UNKNOWN;
     }
 }
@@ -0,0 +1,29 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * SynchronousMode枚舉表示SQLite將數據同步到磁盤的頻率（PRAGMA synchronous）。
+ *
+ * @since 2026-10-18
+ */
+public enum SynchronousMode {
+
+    /**
+     * 不主動同步，作業系統崩潰或斷電時可能損壞數據庫。
+     */
+    OFF,
+
+    /**
+     * 在WAL模式下只在檢查點時同步，斷電時可能遺失最近提交的事務，但不會損壞數據庫。
+     */
+    NORMAL,
+
+    /**
+     * 每次提交都同步，是SQLite的默認值。
+     */
+    FULL,
+
+    /**
+     * 與FULL相同，並在回滾日誌模式下額外同步日誌所在的目錄。
+     */
+    EXTRA
+}
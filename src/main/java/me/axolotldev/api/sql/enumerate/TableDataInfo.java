@@ -1,156 +1,260 @@
 package me.axolotldev.api.sql.enumerate;
 
 import me.axolotldev.api.exception.MethodNotAllowed;
+import org.jetbrains.annotations.CheckReturnValue;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
+
 /**
- * TableDataInfo枚舉表示數據庫表列的額外信息。
+ * TableDataInfo類表示數據庫表列的額外信息。
+ * 每個實例都是不可變的，設置默認值、長度或注釋的方法會返回新的實例，
+ * 因此同一個常量可以在多個線程中同時用於定義不同的表。
+ * <p>
+ * 注意：此類在2026-10-18之前是枚舉，設置方法會修改常量本身並返回它。
+ * 現在必須使用設置方法的返回值，{@code TableDataInfo.LENGTH.setLength(16);}之後再使用{@code TableDataInfo.LENGTH}不會帶有長度。
+ * 為了兼容保留了{@link #values()}、{@link #valueOf(String)}和{@link #ordinal()}，
+ * 但此類已不能用於switch語句或EnumSet、EnumMap。
  *
  * @since 2024-02-24
  */
-public enum TableDataInfo {
+public final class TableDataInfo {
 
     /**
      * 表示列的默認值。
      */
-    DEFAULT,
+    public static final TableDataInfo DEFAULT = new TableDataInfo(Kind.DEFAULT, "", 0, "");
 
     /**
      * 表示列的長度。
      */
-    LENGTH,
+    public static final TableDataInfo LENGTH = new TableDataInfo(Kind.LENGTH, "", 0, "");
 
     /**
      * 表示列是否可為空。
      */
-    NULLABLE,
+    public static final TableDataInfo NULLABLE = new TableDataInfo(Kind.NULLABLE, "", 0, "");
 
     /**
      * 表示列是否使用0填滿空缺。
      */
-    ZEROFILL,
+    public static final TableDataInfo ZEROFILL = new TableDataInfo(Kind.ZEROFILL, "", 0, "");
 
     /**
      * 表示列是否為無符號。
      */
-    UNSIGNED,
+    public static final TableDataInfo UNSIGNED = new TableDataInfo(Kind.UNSIGNED, "", 0, "");
 
     /**
      * 表示與列關聯的注釋。
      */
-    COMMENT;
+    public static final TableDataInfo COMMENT = new TableDataInfo(Kind.COMMENT, "", 0, "");
 
-    /* ========== ========== ========== ========== ========== */
+    /**
+     * 表示列為主鍵。
+     */
+    public static final TableDataInfo PRIMARY_KEY = new TableDataInfo(Kind.PRIMARY_KEY, "", 0, "");
 
-    // ENUM DEFAULT的方法
+    /**
+     * 表示列的值必須唯一。
+     */
+    public static final TableDataInfo UNIQUE = new TableDataInfo(Kind.UNIQUE, "", 0, "");
 
-    @NotNull
-    private String defValue = "";
+    /**
+     * 表示列不可為空。
+     */
+    public static final TableDataInfo NOT_NULL = new TableDataInfo(Kind.NOT_NULL, "", 0, "");
 
     /**
-     * 設置列的默認值。
+     * 表示主鍵列自動遞增，只能與INTEGER類型的PRIMARY_KEY一起使用。
+     */
+    public static final TableDataInfo AUTOINCREMENT = new TableDataInfo(Kind.AUTOINCREMENT, "", 0, "");
+
+    private static final TableDataInfo[] VALUES = {
+            DEFAULT, LENGTH, NULLABLE, ZEROFILL, UNSIGNED, COMMENT, PRIMARY_KEY, UNIQUE, NOT_NULL, AUTOINCREMENT
+    };
+
+    private enum Kind {
+        DEFAULT, LENGTH, NULLABLE, ZEROFILL, UNSIGNED, COMMENT, PRIMARY_KEY, UNIQUE, NOT_NULL, AUTOINCREMENT
+    }
+
+    private final Kind kind;
+    private final String defValue;
+    private final int length;
+    private final String comment;
+    private final String sql;
+
+    private TableDataInfo(Kind kind, String defValue, int length, String comment) {
+        this.kind = kind;
+        this.defValue = defValue;
+        this.length = length;
+        this.comment = comment;
+        this.sql = render();
+    }
+
+    /* ========== ========== ========== ========== ========== */
+
+    // DEFAULT的方法
+
+    /**
+     * 創建一個具有指定默認值的DEFAULT。
      *
      * @param s 要設置的默認值
-     * @return 具有更新的默認值的TableDataInfo對象
-     * @throws MethodNotAllowed 如果對除DEFAULT以外的枚舉調用了該方法
+     * @return 具有指定默認值的新TableDataInfo對象，此對象本身不會被修改
+     * @throws MethodNotAllowed 如果對除DEFAULT以外的對象調用了該方法
      */
+    @CheckReturnValue
+    @Contract(pure = true)
     public TableDataInfo setDefaultValue(@NotNull String s) {
-        if (this != DEFAULT) throw new MethodNotAllowed("Only DEFAULT can use this method.");
-        this.defValue = s;
-
-        return this;
+        if (kind != Kind.DEFAULT) throw new MethodNotAllowed("Only DEFAULT can use this method.");
+        return new TableDataInfo(kind, s, length, comment);
     }
 
     /**
      * 獲取列的默認值。
      *
      * @return 列的默認值
-     * @throws MethodNotAllowed 如果對除DEFAULT以外的枚舉調用了該方法
+     * @throws MethodNotAllowed 如果對除DEFAULT以外的對象調用了該方法
      */
     public String getDefaultValue() {
-        if (this != DEFAULT) throw new MethodNotAllowed("Only DEFAULT can use this method.");
+        if (kind != Kind.DEFAULT) throw new MethodNotAllowed("Only DEFAULT can use this method.");
         return defValue;
     }
 
-    // ENUM LENGTH的方法
-
-    private int length = 0;
+    // LENGTH的方法
 
     /**
-     * 設置列的長度。
+     * 創建一個具有指定長度的LENGTH。
      *
      * @param length 要設置的長度
-     * @return 具有更新的長度的TableDataInfo對象
-     * @throws MethodNotAllowed 如果對除LENGTH以外的枚舉調用了該方法
+     * @return 具有指定長度的新TableDataInfo對象，此對象本身不會被修改
+     * @throws MethodNotAllowed 如果對除LENGTH以外的對象調用了該方法
      */
+    @CheckReturnValue
+    @Contract(pure = true)
     public TableDataInfo setLength(int length) {
-        if (this != LENGTH) throw new MethodNotAllowed("Only LENGTH can use this method.");
-        this.length = length;
-
-        return this;
+        if (kind != Kind.LENGTH) throw new MethodNotAllowed("Only LENGTH can use this method.");
+        return new TableDataInfo(kind, defValue, length, comment);
     }
 
     /**
      * 獲取列的長度。
      *
      * @return 列的長度
-     * @throws MethodNotAllowed 如果對除LENGTH以外的枚舉調用了該方法
+     * @throws MethodNotAllowed 如果對除LENGTH以外的對象調用了該方法
      */
     public int getLength() {
-        if (this != LENGTH) throw new MethodNotAllowed("Only LENGTH can use this method.");
+        if (kind != Kind.LENGTH) throw new MethodNotAllowed("Only LENGTH can use this method.");
         return this.length;
     }
 
-    // ENUM COMMENT的方法
-
-    private String comment = "";
+    // COMMENT的方法
 
     /**
-     * 設置列的注釋。
+     * 創建一個具有指定注釋的COMMENT。
      *
      * @param comment 要設置的注釋
-     * @return 具有更新的注釋的TableDataInfo對象
-     * @throws MethodNotAllowed 如果對除COMMENT以外的枚舉調用了該方法
+     * @return 具有指定注釋的新TableDataInfo對象，此對象本身不會被修改
+     * @throws MethodNotAllowed 如果對除COMMENT以外的對象調用了該方法
      */
+    @CheckReturnValue
+    @Contract(pure = true)
     public TableDataInfo setComment(String comment) {
-        if (this != COMMENT) throw new MethodNotAllowed("Only COMMENT can use this method.");
-        this.comment = comment;
-
-        return this;
+        if (kind != Kind.COMMENT) throw new MethodNotAllowed("Only COMMENT can use this method.");
+        return new TableDataInfo(kind, defValue, length, comment);
     }
 
     /**
      * 獲取列的注釋。
      *
      * @return 列的注釋
-     * @throws MethodNotAllowed 如果對除COMMENT以外的枚舉調用了該方法
+     * @throws MethodNotAllowed 如果對除COMMENT以外的對象調用了該方法
      */
     public String getComment() {
-        if (this != COMMENT) throw new MethodNotAllowed("Only COMMENT can use this method.");
+        if (kind != Kind.COMMENT) throw new MethodNotAllowed("Only COMMENT can use this method.");
         return comment;
     }
 
     /* ========== ========== ========== ========== ========== */
 
     /**
-     * 返回TableDataInfo對象的字符串表示形式。
+     * 獲取此信息的種類名稱，例如DEFAULT或LENGTH。
      *
-     * @return 對象的字符串表示形式
+     * @return 種類名稱
      */
-    @Override
-    public String toString() {
-        switch (this) {
+    public String name() {
+        return kind.name();
+    }
+
+    /**
+     * 獲取此信息的種類在所有常量中的序號，與原枚舉的ordinal()相同。
+     *
+     * @return 種類的序號
+     */
+    public int ordinal() {
+        return kind.ordinal();
+    }
+
+    /**
+     * 獲取所有TableDataInfo常量，順序與原枚舉相同。
+     *
+     * @return 所有常量的新數組
+     */
+    public static TableDataInfo[] values() {
+        return VALUES.clone();
+    }
+
+    /**
+     * 根據名稱獲取TableDataInfo常量。
+     *
+     * @param name 常量的名稱，例如DEFAULT或LENGTH
+     * @return 對應的常量
+     * @throws IllegalArgumentException 如果沒有該名稱的常量
+     */
+    public static TableDataInfo valueOf(@NotNull String name) {
+        return VALUES[Kind.valueOf(name).ordinal()];
+    }
+
+    private String render() {
+        switch (kind) {
             case DEFAULT:
-                return String.format("DEFAULT %s", getDefaultValue());
+                return String.format("DEFAULT %s", defValue);
             case LENGTH:
-                return String.format("(%s)", getLength());
+                return String.format("(%s)", length);
             case NULLABLE:
                 return "NULL";
             case COMMENT:
-                return String.format("COMMENT '%s'", getComment());
+                return String.format("COMMENT '%s'", comment);
+            case PRIMARY_KEY:
+                return "PRIMARY KEY";
+            case NOT_NULL:
+                return "NOT NULL";
             default:
-                return this.name();
+                return kind.name();
         }
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TableDataInfo that)) return false;
+        return kind == that.kind && length == that.length && defValue.equals(that.defValue) && Objects.equals(comment, that.comment);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, defValue, length, comment);
+    }
+
+    /**
+     * 返回TableDataInfo對象的字符串表示形式。
+     *
+     * @return 對象的字符串表示形式
+     */
+    @Override
+    public String toString() {
+        return sql;
+    }
+
 }
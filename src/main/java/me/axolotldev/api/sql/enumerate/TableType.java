@@ -26,6 +26,11 @@ public enum TableType {
      */
     INT,
 
+    /**
+     * SQLite的整數類型，與PRIMARY_KEY一起使用時成為行ID的別名。
+     */
+    INTEGER,
+
     /**
      * 大整數類型。
      */
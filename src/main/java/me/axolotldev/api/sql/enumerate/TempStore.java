@@ -0,0 +1,24 @@
+package me.axolotldev.api.sql.enumerate;
+
+/**
+ * TempStore枚舉表示SQLite存放臨時表和索引的位置（PRAGMA temp_store）。
+ *
+ * @since 2026-10-18
+ */
+public enum TempStore {
+
+    /**
+     * 使用編譯時的默認值，通常為文件。
+     */
+    DEFAULT,
+
+    /**
+     * 存放在臨時文件中。
+     */
+    FILE,
+
+    /**
+     * 存放在內存中。
+     */
+    MEMORY
+}
@@ -0,0 +1,23 @@
+package me.axolotldev.api.sql.interfaces;
+
+import me.axolotldev.api.sql.enumerate.BackupPhase;
+
+/**
+ * BackupListener接口接收線上備份的進度。
+ * 回調在執行備份的線程上被調用，複製階段的回調返回前下一步複製不會開始，因此實現應盡快返回。
+ *
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface BackupListener {
+
+    /**
+     * 報告備份的進度。
+     *
+     * @param phase 目前的階段
+     * @param done  已完成的數量，複製階段為頁數，其他階段為字節數
+     * @param total 總數量
+     */
+    void progress(BackupPhase phase, long done, long total);
+
+}
@@ -0,0 +1,38 @@
+package me.axolotldev.api.sql.interfaces;
+
+/**
+ * MetricsSink接口接收每條SQL語句的執行指標，可用於將統計數據導出到外部的監控系統。
+ * 實現會在執行語句的線程上被調用，因此應盡快返回且必須是線程安全的。
+ *
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface MetricsSink {
+
+    /**
+     * 不做任何事情的MetricsSink。
+     */
+    MetricsSink NONE = (shape, nanos, rows, failed) -> {
+    };
+
+    /**
+     * 記錄一條語句的執行結果。
+     *
+     * @param shape  正規化後的SQL語句，字面值已被替換為?
+     * @param nanos  執行所花的時間（納秒）
+     * @param rows   返回的行數，非查詢語句或無法計算時為-1
+     * @param failed 語句是否拋出了異常
+     */
+    void record(String shape, long nanos, long rows, boolean failed);
+
+    /**
+     * 在語句的執行時間超過慢查詢閾值時調用。
+     *
+     * @param shape   正規化後的SQL語句
+     * @param command 原始的SQL語句
+     * @param nanos   執行所花的時間（納秒）
+     */
+    default void slowQuery(String shape, String command, long nanos) {
+    }
+
+}
@@ -0,0 +1,25 @@
+package me.axolotldev.api.sql.interfaces;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper接口定義了如何將ResultSet的當前行轉換為一個對象。
+ *
+ * @param <T> 轉換結果的類型
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * 將ResultSet的當前行轉換為一個對象。
+     * 實現不應移動游標，也不應在方法返回後保留ResultSet的引用。
+     *
+     * @param rs 已定位到當前行的ResultSet
+     * @return 轉換後的對象
+     * @throws SQLException 如果讀取列值時發生錯誤
+     */
+    T map(ResultSet rs) throws SQLException;
+
+}
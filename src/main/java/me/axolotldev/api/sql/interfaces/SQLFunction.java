@@ -0,0 +1,24 @@
+package me.axolotldev.api.sql.interfaces;
+
+import java.sql.SQLException;
+
+/**
+ * SQLFunction接口表示一個可能拋出SQLException的函數。
+ *
+ * @param <T> 輸入的類型
+ * @param <R> 結果的類型
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface SQLFunction<T, R> {
+
+    /**
+     * 將此函數應用於給定的參數。
+     *
+     * @param t 函數的參數
+     * @return 函數的結果
+     * @throws SQLException 如果發生數據庫訪問錯誤
+     */
+    R apply(T t) throws SQLException;
+
+}
@@ -0,0 +1,461 @@
+package me.axolotldev.api.sql.util;
+
+import me.axolotldev.api.tool.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool類提供固定大小的SQLite連接池，支援空閒驗證、借用逾時與洩漏偵測。
+ * 所有連接均以WAL模式開啟，讓讀取操作可以並行執行，只有寫入操作需要互相等待。
+ *
+ * @since 2026-10-18
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = new Logger("ConnectionPool");
+
+    private final String url;
+    private final int size;
+    private final BlockingQueue<PooledConnection> idle;
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    private long borrowTimeout = 30_000L;
+    private long validationInterval = 30_000L;
+    private long leakThreshold = 0L;
+    private ConnectionProfile profile = ConnectionProfile.DEFAULT;
+    private int statementCacheSize = 64;
+
+    private volatile boolean open = false;
+    private ScheduledExecutorService maintenance;
+
+    /**
+     * 使用指定的JDBC鏈接和大小構造一個新的ConnectionPool。
+     *
+     * @param url  SQLite數據庫的JDBC鏈接
+     * @param size 連接池中的連接數量
+     * @throws IllegalArgumentException 如果大小小於1
+     */
+    public ConnectionPool(@NotNull String url, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1.");
+        }
+        this.url = url;
+        this.size = size;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * 設置借用連接時的最長等待時間。
+     *
+     * @param millis 最長等待時間（毫秒）
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setBorrowTimeout(long millis) {
+        this.borrowTimeout = millis;
+        return this;
+    }
+
+    /**
+     * 設置連接在空閒多久後，下一次借用時需要重新驗證。
+     *
+     * @param millis 空閒時間（毫秒）
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setValidationInterval(long millis) {
+        this.validationInterval = millis;
+        return this;
+    }
+
+    /**
+     * 設置洩漏偵測的閾值，連接被借出超過此時間將被記錄為可能洩漏。
+     * 必須在{@link #open()}之前調用，設置為0則停用洩漏偵測。
+     *
+     * @param millis 洩漏閾值（毫秒）
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setLeakDetectionThreshold(long millis) {
+        this.leakThreshold = millis;
+        return this;
+    }
+
+    /**
+     * 設置SQLite在數據庫被鎖定時的等待時間。
+     *
+     * @param millis 等待時間（毫秒）
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setBusyTimeout(int millis) {
+        this.profile = profile.setBusyTimeout(millis);
+        return this;
+    }
+
+    /**
+     * 設置新連接打開時使用的配置，只對之後打開的連接生效。
+     *
+     * @param profile 連接配置
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setProfile(@NotNull ConnectionProfile profile) {
+        this.profile = profile;
+        return this;
+    }
+
+    /**
+     * 獲取新連接打開時使用的配置。
+     *
+     * @return 連接配置
+     */
+    public ConnectionProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * 設置每個連接緩存的PreparedStatement數量上限。
+     *
+     * @param size 緩存上限
+     * @return 此ConnectionPool以便方法鏈接
+     */
+    public ConnectionPool setStatementCacheSize(int size) {
+        this.statementCacheSize = size;
+        return this;
+    }
+
+    /**
+     * 開啟連接池中的所有連接。
+     *
+     * @throws SQLException 如果無法開啟任何一個連接
+     */
+    public synchronized void open() throws SQLException {
+        if (open) {
+            return;
+        }
+        List<PooledConnection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < size; i++) {
+                opened.add(new PooledConnection(newConnection()));
+            }
+        } catch (SQLException e) {
+            opened.forEach(ConnectionPool::closeQuietly);
+            throw e;
+        }
+        idle.addAll(opened);
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "DevTool-ConnectionPool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        open = true;
+        if (leakThreshold > 0) {
+            scheduleMaintenance(this::detectLeaks, Math.max(leakThreshold / 2, 1_000L));
+        }
+    }
+
+    /**
+     * 從連接池中借出一個連接，使用完畢後必須調用{@link PooledConnection#close()}歸還。
+     *
+     * @return 借出的連接
+     * @throws SQLTimeoutException 如果在借用逾時內沒有可用的連接
+     * @throws SQLException        如果連接池已關閉或無法重建失效的連接
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (!open) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long start = System.nanoTime();
+        PooledConnection pc;
+        try {
+            pc = idle.poll(borrowTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection.", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (pc == null) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTimeoutException(String.format("Cannot borrow a connection within %d ms.", borrowTimeout));
+        }
+
+        try {
+            validate(pc, false);
+        } catch (SQLException e) {
+            pc.broken = true;
+            idle.offer(pc);
+            throw e;
+        }
+
+        borrowCount.incrementAndGet();
+        pc.borrowedAt = System.nanoTime();
+        pc.borrowSite = leakThreshold > 0 ? new Exception("Connection borrowed here") : null;
+        pc.leakReported = false;
+        borrowed.add(pc);
+        return pc;
+    }
+
+    /**
+     * 檢查並替換連接池中所有失效的空閒連接。
+     *
+     * @return 如果所有被檢查的連接均有效或已成功重建則返回true
+     */
+    public boolean validateIdle() {
+        if (!open) {
+            return false;
+        }
+        boolean healthy = true;
+        for (int i = idle.size(); i > 0; i--) {
+            PooledConnection pc = idle.poll();
+            if (pc == null) {
+                break;
+            }
+            try {
+                validate(pc, true);
+            } catch (SQLException e) {
+                pc.broken = true;
+                healthy = false;
+            }
+            idle.offer(pc);
+        }
+        return healthy;
+    }
+
+    /**
+     * 在連接池的維護線程上定期執行指定的任務。
+     *
+     * @param task         要執行的任務
+     * @param periodMillis 執行間隔（毫秒）
+     * @return 可用於取消任務的ScheduledFuture
+     * @throws IllegalStateException 如果連接池未開啟
+     */
+    public ScheduledFuture<?> scheduleMaintenance(@NotNull Runnable task, long periodMillis) {
+        if (!open) {
+            throw new IllegalStateException("Connection pool is not open.");
+        }
+        return maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.severe(e);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 獲取目前被借出的連接數量。
+     *
+     * @return 使用中的連接數量
+     */
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * 獲取連接池的固定大小。
+     *
+     * @return 連接池中的連接總數
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 檢查連接池是否已開啟。
+     *
+     * @return 如果連接池已開啟則返回true
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * 獲取連接池目前的統計快照。
+     *
+     * @return 統計快照
+     */
+    public PoolStats getStats() {
+        return new PoolStats(size, borrowed.size(), idle.size(), borrowCount.get(), totalWaitNanos.get(),
+                maxWaitNanos.get(), timeoutCount.get(), leakCount.get(), statementHits.get(), statementMisses.get());
+    }
+
+    /**
+     * 關閉連接池，空閒連接會立即關閉，借出的連接會在歸還時關閉。
+     */
+    @Override
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        maintenance.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.poll()) != null) {
+            closeQuietly(pc);
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        if (!borrowed.remove(pc)) {
+            return;
+        }
+        pc.lastUsed = System.nanoTime();
+        pc.borrowSite = null;
+        if (!open) {
+            closeQuietly(pc);
+            return;
+        }
+        try {
+            if (!pc.connection.getAutoCommit()) {
+                pc.connection.rollback();
+                pc.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            pc.broken = true;
+        }
+        idle.offer(pc);
+    }
+
+    private void validate(PooledConnection pc, boolean force) throws SQLException {
+        boolean stale = force || System.nanoTime() - pc.lastUsed > TimeUnit.MILLISECONDS.toNanos(validationInterval);
+        if (!pc.broken && !stale) {
+            return;
+        }
+        if (!pc.broken && pc.connection.isValid(1)) {
+            return;
+        }
+        closeQuietly(pc);
+        pc.reset(newConnection());
+    }
+
+    private void detectLeaks() {
+        long now = System.nanoTime();
+        long threshold = TimeUnit.MILLISECONDS.toNanos(leakThreshold);
+        for (PooledConnection pc : borrowed) {
+            Exception site = pc.borrowSite;
+            if (!pc.leakReported && site != null && now - pc.borrowedAt > threshold) {
+                pc.leakReported = true;
+                leakCount.incrementAndGet();
+                logger.warning("Connection to \"%s\" held for more than %d ms, possible leak.", url, leakThreshold);
+                logger.severe(site);
+            }
+        }
+    }
+
+    private Connection newConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : profile.toPragmas()) {
+                statement.execute(pragma);
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private static void closeQuietly(PooledConnection pc) {
+        pc.statements.close();
+        closeQuietly(pc.connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * PooledConnection類表示從連接池借出的連接，關閉時會歸還到連接池。
+     */
+    public final class PooledConnection implements AutoCloseable {
+
+        private Connection connection;
+        private StatementCache statements;
+        private volatile long lastUsed = System.nanoTime();
+        private volatile long borrowedAt;
+        private volatile Exception borrowSite;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+
+        private PooledConnection(Connection connection) {
+            reset(connection);
+        }
+
+        private void reset(Connection connection) {
+            this.connection = connection;
+            this.statements = new StatementCache(connection, statementCacheSize, statementHits, statementMisses);
+            this.broken = false;
+        }
+
+        /**
+         * 獲取底層的JDBC連接，不應在歸還後繼續使用。
+         *
+         * @return 底層的JDBC連接
+         */
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * 從此連接的緩存中獲取指定SQL的PreparedStatement，參數已被清除。
+         * 返回的PreparedStatement由緩存管理，調用者不應關閉它。
+         *
+         * @param sql 要準備的SQL命令
+         * @return 緩存的PreparedStatement
+         * @throws SQLException 如果無法準備SQL命令
+         */
+        public PreparedStatement prepare(@NotNull String sql) throws SQLException {
+            return statements.prepare(sql);
+        }
+
+        /**
+         * 檢查底層的JDBC連接是否仍然有效，無效時標記此連接，使其在下次借用前被重建。
+         *
+         * @return 如果連接仍然有效則返回true
+         */
+        public boolean checkValid() {
+            try {
+                if (!connection.isClosed() && connection.isValid(1)) {
+                    return true;
+                }
+            } catch (SQLException ignored) {
+            }
+            broken = true;
+            return false;
+        }
+
+        /**
+         * 將連接歸還到連接池。
+         */
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package me.axolotldev.api.sql.util;
+
+import me.axolotldev.api.sql.enumerate.CheckpointMode;
+import me.axolotldev.api.sql.enumerate.JournalMode;
+import me.axolotldev.api.sql.enumerate.SynchronousMode;
+import me.axolotldev.api.sql.enumerate.TempStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * ConnectionProfile類描述打開SQLite連接時要設置的PRAGMA，以及是否在後台執行WAL檢查點。
+ * 每個實例都是不可變的，設置方法會返回新的實例，因此預設配置可以安全地共享和修改。
+ * <p>
+ * 啟用後台檢查點時，連接的自動檢查點會被關閉，檢查點只會在連接池的維護線程上執行，不會落在某個寫入的調用者身上。
+ *
+ * @since 2026-10-18
+ */
+public final class ConnectionProfile {
+
+    /**
+     * 與SQLite默認值相同的配置，只啟用WAL並設置5秒的忙碌等待時間。
+     */
+    public static final ConnectionProfile DEFAULT = new ConnectionProfile(JournalMode.WAL, SynchronousMode.FULL,
+            2_000, 0L, TempStore.DEFAULT, 5_000, 1_000, 0L, CheckpointMode.PASSIVE);
+
+    /**
+     * 以吞吐量為優先的配置：synchronous=NORMAL、64MB頁面緩存、256MB內存映射、臨時表存放在內存中，並每秒在後台執行檢查點。
+     * 斷電時可能遺失最近提交的事務，但不會損壞數據庫。
+     */
+    public static final ConnectionProfile THROUGHPUT = new ConnectionProfile(JournalMode.WAL, SynchronousMode.NORMAL,
+            65_536, 268_435_456L, TempStore.MEMORY, 5_000, 1_000, 1_000L, CheckpointMode.PASSIVE);
+
+    /**
+     * 以持久性為優先的配置：每次提交都同步到磁盤，並使用較長的忙碌等待時間。
+     */
+    public static final ConnectionProfile DURABLE = new ConnectionProfile(JournalMode.WAL, SynchronousMode.FULL,
+            8_192, 0L, TempStore.DEFAULT, 10_000, 1_000, 0L, CheckpointMode.PASSIVE);
+
+    private final JournalMode journalMode;
+    private final SynchronousMode synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final TempStore tempStore;
+    private final int busyTimeout;
+    private final int autoCheckpoint;
+    private final long checkpointInterval;
+    private final CheckpointMode checkpointMode;
+
+    private ConnectionProfile(JournalMode journalMode, SynchronousMode synchronous, int cacheSize, long mmapSize,
+                              TempStore tempStore, int busyTimeout, int autoCheckpoint, long checkpointInterval,
+                              CheckpointMode checkpointMode) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeout = busyTimeout;
+        this.autoCheckpoint = autoCheckpoint;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointMode = checkpointMode;
+    }
+
+    /**
+     * 創建一個使用指定日誌模式的配置。
+     *
+     * @param mode 日誌模式
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setJournalMode(@NotNull JournalMode mode) {
+        return new ConnectionProfile(mode, synchronous, cacheSize, mmapSize, tempStore, busyTimeout, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定同步模式的配置。
+     *
+     * @param mode 同步模式
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setSynchronous(@NotNull SynchronousMode mode) {
+        return new ConnectionProfile(journalMode, mode, cacheSize, mmapSize, tempStore, busyTimeout, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定頁面緩存大小的配置。
+     *
+     * @param kibibytes 每個連接的頁面緩存大小（KiB）
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setCacheSize(int kibibytes) {
+        return new ConnectionProfile(journalMode, synchronous, kibibytes, mmapSize, tempStore, busyTimeout, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定內存映射大小的配置。
+     *
+     * @param bytes 內存映射的最大字節數，0表示不使用內存映射
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setMmapSize(long bytes) {
+        return new ConnectionProfile(journalMode, synchronous, cacheSize, bytes, tempStore, busyTimeout, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定臨時存儲位置的配置。
+     *
+     * @param store 臨時表和索引的存放位置
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setTempStore(@NotNull TempStore store) {
+        return new ConnectionProfile(journalMode, synchronous, cacheSize, mmapSize, store, busyTimeout, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定忙碌等待時間的配置。
+     *
+     * @param millis 數據庫被鎖定時的等待時間（毫秒）
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setBusyTimeout(int millis) {
+        return new ConnectionProfile(journalMode, synchronous, cacheSize, mmapSize, tempStore, millis, autoCheckpoint,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個使用指定自動檢查點閾值的配置，只在未啟用後台檢查點時生效。
+     *
+     * @param pages WAL達到多少頁時自動執行檢查點，0表示關閉
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setAutoCheckpoint(int pages) {
+        return new ConnectionProfile(journalMode, synchronous, cacheSize, mmapSize, tempStore, busyTimeout, pages,
+                checkpointInterval, checkpointMode);
+    }
+
+    /**
+     * 創建一個在後台定期執行WAL檢查點的配置。
+     *
+     * @param millis 檢查點間隔（毫秒），0表示不在後台執行，而是使用自動檢查點
+     * @param mode   檢查點方式
+     * @return 新的ConnectionProfile
+     */
+    public ConnectionProfile setCheckpoint(long millis, @NotNull CheckpointMode mode) {
+        return new ConnectionProfile(journalMode, synchronous, cacheSize, mmapSize, tempStore, busyTimeout, autoCheckpoint,
+                millis, mode);
+    }
+
+    /**
+     * 獲取日誌模式。
+     *
+     * @return 日誌模式
+     */
+    public JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    /**
+     * 獲取同步模式。
+     *
+     * @return 同步模式
+     */
+    public SynchronousMode getSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     * 獲取每個連接的頁面緩存大小。
+     *
+     * @return 頁面緩存大小（KiB）
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 獲取內存映射的最大字節數。
+     *
+     * @return 內存映射大小
+     */
+    public long getMmapSize() {
+        return mmapSize;
+    }
+
+    /**
+     * 獲取臨時表和索引的存放位置。
+     *
+     * @return 臨時存儲位置
+     */
+    public TempStore getTempStore() {
+        return tempStore;
+    }
+
+    /**
+     * 獲取忙碌等待時間。
+     *
+     * @return 等待時間（毫秒）
+     */
+    public int getBusyTimeout() {
+        return busyTimeout;
+    }
+
+    /**
+     * 獲取後台檢查點的間隔。
+     *
+     * @return 間隔（毫秒），0表示不在後台執行
+     */
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * 獲取後台檢查點的方式。
+     *
+     * @return 檢查點方式
+     */
+    public CheckpointMode getCheckpointMode() {
+        return checkpointMode;
+    }
+
+    /**
+     * 獲取打開連接時要執行的PRAGMA語句。
+     *
+     * @return PRAGMA語句的列表
+     */
+    public List<String> toPragmas() {
+        return List.of(
+                "PRAGMA journal_mode=" + journalMode + ";",
+                "PRAGMA synchronous=" + synchronous + ";",
+                "PRAGMA cache_size=-" + cacheSize + ";",
+                "PRAGMA mmap_size=" + mmapSize + ";",
+                "PRAGMA temp_store=" + tempStore + ";",
+                "PRAGMA busy_timeout=" + busyTimeout + ";",
+                "PRAGMA wal_autocheckpoint=" + (checkpointInterval > 0 ? 0 : autoCheckpoint) + ";");
+    }
+
+    /**
+     * 獲取執行一次WAL檢查點的語句。
+     *
+     * @return PRAGMA語句
+     */
+    public String toCheckpoint() {
+        return "PRAGMA wal_checkpoint(" + checkpointMode + ");";
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionProfile(" +
+                "journal:" + journalMode +
+                ", synchronous:" + synchronous +
+                ", cache:" + cacheSize + "KiB" +
+                ", mmap:" + mmapSize +
+                ", temp:" + tempStore +
+                ", busy:" + busyTimeout +
+                ", checkpoint:" + (checkpointInterval > 0 ? checkpointMode + "/" + checkpointInterval + "ms" : "auto") +
+                ")";
+    }
+}
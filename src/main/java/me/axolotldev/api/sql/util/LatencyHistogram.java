@@ -0,0 +1,131 @@
+package me.axolotldev.api.sql.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram類以對數線性分桶記錄延遲，做法與HdrHistogram相同：
+ * 每個2的冪次區間被分為128個子桶，因此任何百分位數的相對誤差都低於1%（最多1/128），而記錄一個值只需要一次原子加法。
+ * 可記錄的最大值約為2^41納秒（約36分鐘），更大的值會被計入最後一個桶。
+ *
+ * @since 2026-10-18
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int MAX_SHIFT = 33;
+    private static final long MAX_VALUE = (1L << (MAX_SHIFT + SUB_BUCKET_BITS)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_SHIFT + 1) * HALF + SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 記錄一個值。
+     *
+     * @param nanos 延遲（納秒），負數會被視為0
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * 獲取已記錄的值的數量。
+     *
+     * @return 記錄次數
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 獲取已記錄的最大值。
+     *
+     * @return 最大值（納秒）
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 獲取已記錄的值的平均數。
+     *
+     * @return 平均值（納秒）
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * 獲取指定百分位數的值，返回的是該值所在桶的上限。
+     *
+     * @param percentile 介於0和100之間的百分位數
+     * @return 該百分位數的值（納秒）
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * 清空所有已記錄的值。與record同時調用時，正在記錄的值可能會被部分保留。
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long sub = index % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram(" +
+                "count:" + getCount() +
+                ", mean:" + String.format("%.0f", getMean()) +
+                ", p50:" + getValueAtPercentile(50) +
+                ", p99:" + getValueAtPercentile(99) +
+                ", max:" + getMax() +
+                ")";
+    }
+}
@@ -0,0 +1,141 @@
+package me.axolotldev.api.sql.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Migration類表示一個帶版本號的數據庫結構變更，由一個或多個SQL命令組成。
+ * 版本號記錄在SQLite的user_version中，每個版本只會被執行一次。
+ *
+ * @since 2026-10-18
+ */
+public final class Migration {
+
+    private final int version;
+    private final String description;
+    private final List<String> commands = new ArrayList<>();
+
+    /**
+     * 使用指定的版本號和描述構造一個新的Migration。
+     *
+     * @param version     版本號，必須大於0
+     * @param description 變更的描述
+     * @throws IllegalArgumentException 如果版本號小於1
+     */
+    public Migration(int version, @NotNull String description) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration version must be at least 1.");
+        }
+        this.version = version;
+        this.description = description;
+    }
+
+    /**
+     * 加入創建表的步驟，表已存在時不做任何事。
+     *
+     * @param tableId 要創建的表的ID
+     * @param data    表的數據模式
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration createTable(@NotNull String tableId, TableUnit @NotNull ... data) {
+        commands.add(Schema.createTable(tableId, true, data));
+        return this;
+    }
+
+    /**
+     * 加入刪除表的步驟，表不存在時不做任何事。
+     *
+     * @param tableId 要刪除的表的ID
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration dropTable(@NotNull String tableId) {
+        commands.add(Schema.dropTable(tableId, true));
+        return this;
+    }
+
+    /**
+     * 加入在表中新增列的步驟。
+     *
+     * @param tableId 表的ID
+     * @param column  要新增的列
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration addColumn(@NotNull String tableId, @NotNull TableUnit column) {
+        commands.add(String.format("ALTER TABLE %s ADD COLUMN %s;", tableId, column));
+        return this;
+    }
+
+    /**
+     * 加入創建索引的步驟，索引已存在時不做任何事。
+     *
+     * @param indexName 索引的名稱
+     * @param tableId   表的ID
+     * @param unique    是否為唯一索引
+     * @param columns   索引包含的列
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration createIndex(@NotNull String indexName, @NotNull String tableId, boolean unique, String @NotNull ... columns) {
+        commands.add(Schema.createIndex(indexName, tableId, unique, columns));
+        return this;
+    }
+
+    /**
+     * 加入刪除索引的步驟。
+     *
+     * @param indexName 索引的名稱
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration dropIndex(@NotNull String indexName) {
+        commands.add(Schema.dropIndex(indexName));
+        return this;
+    }
+
+    /**
+     * 加入一個自定義的SQL命令。
+     *
+     * @param command 要執行的SQL命令
+     * @return 此Migration以便方法鏈接
+     */
+    public Migration sql(@NotNull String command) {
+        commands.add(command);
+        return this;
+    }
+
+    /**
+     * 獲取此變更的版本號。
+     *
+     * @return 版本號
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 獲取此變更的描述。
+     *
+     * @return 描述
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 獲取此變更包含的SQL命令。
+     *
+     * @return 不可修改的SQL命令列表
+     */
+    public List<String> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    @Override
+    public String toString() {
+        return "Migration(" +
+                "version:" + version +
+                ", description:" + description +
+                ")";
+    }
+}
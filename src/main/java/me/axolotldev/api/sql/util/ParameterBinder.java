@@ -0,0 +1,94 @@
+package me.axolotldev.api.sql.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * ParameterBinder類提供了根據Java類型將值綁定到PreparedStatement參數的實用方法。
+ *
+ * @since 2026-10-18
+ */
+public final class ParameterBinder {
+
+    private ParameterBinder() {
+    }
+
+    /**
+     * 將指定的值依序綁定到PreparedStatement的參數，從索引1開始。
+     *
+     * @param statement 要綁定參數的PreparedStatement
+     * @param values    要綁定的值
+     * @throws SQLException 如果綁定失敗
+     */
+    public static void bindAll(@NotNull PreparedStatement statement, @NotNull Collection<?> values) throws SQLException {
+        int index = 1;
+        for (Object value : values) {
+            bind(statement, index++, value);
+        }
+    }
+
+    /**
+     * 根據值的類型將其綁定到PreparedStatement的指定參數。
+     *
+     * @param statement 要綁定參數的PreparedStatement
+     * @param index     參數的索引，從1開始
+     * @param value     要綁定的值，可以為null
+     * @throws SQLException 如果綁定失敗
+     */
+    public static void bind(@NotNull PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.NULL);
+        } else if (value instanceof String s) {
+            statement.setString(index, s);
+        } else if (value instanceof Integer i) {
+            statement.setInt(index, i);
+        } else if (value instanceof Long l) {
+            statement.setLong(index, l);
+        } else if (value instanceof Double d) {
+            statement.setDouble(index, d);
+        } else if (value instanceof Float f) {
+            statement.setFloat(index, f);
+        } else if (value instanceof Boolean b) {
+            statement.setBoolean(index, b);
+        } else if (value instanceof Short s) {
+            statement.setShort(index, s);
+        } else if (value instanceof Byte b) {
+            statement.setByte(index, b);
+        } else if (value instanceof BigDecimal bd) {
+            statement.setBigDecimal(index, bd);
+        } else if (value instanceof byte[] bytes) {
+            statement.setBytes(index, bytes);
+        } else if (value instanceof Character c) {
+            statement.setString(index, c.toString());
+        } else if (value instanceof UUID uuid) {
+            statement.setString(index, uuid.toString());
+        } else if (value instanceof Enum<?> e) {
+            statement.setString(index, e.name());
+        } else if (value instanceof Timestamp ts) {
+            statement.setTimestamp(index, ts);
+        } else if (value instanceof java.sql.Date date) {
+            statement.setDate(index, date);
+        } else if (value instanceof java.util.Date date) {
+            statement.setTimestamp(index, new Timestamp(date.getTime()));
+        } else if (value instanceof Instant instant) {
+            statement.setTimestamp(index, Timestamp.from(instant));
+        } else if (value instanceof LocalDateTime ldt) {
+            statement.setTimestamp(index, Timestamp.valueOf(ldt));
+        } else if (value instanceof LocalDate ld) {
+            statement.setDate(index, java.sql.Date.valueOf(ld));
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
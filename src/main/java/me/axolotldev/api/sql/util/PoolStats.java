@@ -0,0 +1,149 @@
+package me.axolotldev.api.sql.util;
+
+/**
+ * PoolStats類表示連接池在某一時刻的統計快照。
+ *
+ * @since 2026-10-18
+ */
+public final class PoolStats {
+
+    private final int size;
+    private final int active;
+    private final int idle;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeoutCount;
+    private final long leakCount;
+    private final long statementHits;
+    private final long statementMisses;
+
+    PoolStats(int size, int active, int idle, long borrowCount, long totalWaitNanos, long maxWaitNanos, long timeoutCount,
+              long leakCount, long statementHits, long statementMisses) {
+        this.size = size;
+        this.active = active;
+        this.idle = idle;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.statementHits = statementHits;
+        this.statementMisses = statementMisses;
+    }
+
+    /**
+     * 獲取連接池的固定大小。
+     *
+     * @return 連接池中的連接總數
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 獲取目前被借出的連接數量。
+     *
+     * @return 使用中的連接數量
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * 獲取目前空閒的連接數量。
+     *
+     * @return 空閒的連接數量
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * 獲取成功借出連接的總次數。
+     *
+     * @return 借出次數
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * 獲取所有借用請求的累計等待時間。
+     *
+     * @return 累計等待時間（納秒）
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    /**
+     * 獲取單次借用請求的最長等待時間。
+     *
+     * @return 最長等待時間（納秒）
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * 獲取每次成功借用的平均等待時間。
+     *
+     * @return 平均等待時間（毫秒）
+     */
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+    }
+
+    /**
+     * 獲取因逾時而失敗的借用次數。
+     *
+     * @return 逾時次數
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * 獲取被偵測為可能洩漏的連接次數。
+     *
+     * @return 洩漏次數
+     */
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    /**
+     * 獲取PreparedStatement緩存命中的次數。
+     *
+     * @return 緩存命中次數
+     */
+    public long getStatementHits() {
+        return statementHits;
+    }
+
+    /**
+     * 獲取PreparedStatement緩存未命中而需要重新準備的次數。
+     *
+     * @return 緩存未命中次數
+     */
+    public long getStatementMisses() {
+        return statementMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats(" +
+                "size:" + size +
+                ", active:" + active +
+                ", idle:" + idle +
+                ", borrowed:" + borrowCount +
+                ", avgWait:" + String.format("%.3fms", getAverageWaitMillis()) +
+                ", maxWait:" + String.format("%.3fms", maxWaitNanos / 1_000_000.0) +
+                ", timeouts:" + timeoutCount +
+                ", leaks:" + leakCount +
+                ", statementHits:" + statementHits +
+                ", statementMisses:" + statementMisses +
+                ")";
+    }
+}
@@ -0,0 +1,117 @@
+package me.axolotldev.api.sql.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QueryStats類累計同一種SQL語句形狀的執行次數、失敗次數、返回行數和延遲分佈。
+ *
+ * @since 2026-10-18
+ */
+public final class QueryStats {
+
+    private final String shape;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+
+    /**
+     * 構造一個新的QueryStats。
+     *
+     * @param shape 正規化後的SQL語句
+     */
+    public QueryStats(@NotNull String shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * 記錄一次執行。
+     *
+     * @param nanos  執行所花的時間（納秒）
+     * @param rows   返回的行數，為負數時不計入
+     * @param failed 語句是否拋出了異常
+     * @param slow   執行時間是否超過了慢查詢閾值
+     */
+    public void record(long nanos, long rows, boolean failed, boolean slow) {
+        latency.record(nanos);
+        if (rows > 0) {
+            this.rows.add(rows);
+        }
+        if (failed) {
+            errors.increment();
+        }
+        if (slow) {
+            this.slow.increment();
+        }
+    }
+
+    /**
+     * 獲取正規化後的SQL語句。
+     *
+     * @return SQL語句形狀
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * 獲取延遲分佈。
+     *
+     * @return 延遲直方圖
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 獲取執行次數。
+     *
+     * @return 執行次數
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * 獲取失敗次數。
+     *
+     * @return 失敗次數
+     */
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * 獲取所有查詢返回的總行數。
+     *
+     * @return 總行數
+     */
+    public long getTotalRows() {
+        return rows.sum();
+    }
+
+    /**
+     * 獲取超過慢查詢閾值的次數。
+     *
+     * @return 慢查詢次數
+     */
+    public long getSlowCount() {
+        return slow.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats(" +
+                "shape:" + shape +
+                ", count:" + getCount() +
+                ", errors:" + getErrorCount() +
+                ", rows:" + getTotalRows() +
+                ", slow:" + getSlowCount() +
+                ", p50:" + TimeUnit.NANOSECONDS.toMicros(latency.getValueAtPercentile(50)) + "us" +
+                ", p99:" + TimeUnit.NANOSECONDS.toMicros(latency.getValueAtPercentile(99)) + "us" +
+                ")";
+    }
+}
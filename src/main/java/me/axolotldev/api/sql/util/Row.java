@@ -0,0 +1,198 @@
+package me.axolotldev.api.sql.util;
+
+import me.axolotldev.api.sql.interfaces.RowMapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row類表示與連接分離的一行查詢結果。
+ * 同一次查詢產生的所有Row共享列名和索引，因此每行只保存其值。
+ *
+ * @since 2026-10-18
+ */
+public final class Row {
+
+    private final List<String> columns;
+    private final Map<String, Integer> index;
+    private final Object[] values;
+
+    private Row(List<String> columns, Map<String, Integer> index, Object[] values) {
+        this.columns = columns;
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * 創建一個將ResultSet的當前行複製為Row的RowMapper。
+     * 返回的RowMapper會在第一行時讀取列信息，因此每次查詢都應使用新的實例。
+     *
+     * @return 新的RowMapper
+     */
+    public static RowMapper<Row> mapper() {
+        return new RowMapper<>() {
+            private List<String> columns;
+            private Map<String, Integer> index;
+
+            @Override
+            public Row map(ResultSet rs) throws SQLException {
+                if (columns == null) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    String[] names = new String[meta.getColumnCount()];
+                    Map<String, Integer> lookup = new HashMap<>();
+                    for (int i = 0; i < names.length; i++) {
+                        names[i] = meta.getColumnLabel(i + 1);
+                        lookup.putIfAbsent(names[i].toLowerCase(), i);
+                    }
+                    columns = List.of(names);
+                    index = Collections.unmodifiableMap(lookup);
+                }
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                return new Row(columns, index, values);
+            }
+        };
+    }
+
+    /**
+     * 獲取此行的列名。
+     *
+     * @return 按查詢順序排列的列名
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 獲取此行的列數量。
+     *
+     * @return 列數量
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 獲取指定索引的值。
+     *
+     * @param i 列的索引，從0開始
+     * @return 列的值
+     */
+    @Nullable
+    public Object get(int i) {
+        return values[i];
+    }
+
+    /**
+     * 獲取指定列的值，列名不區分大小寫。
+     *
+     * @param column 列名
+     * @return 列的值
+     * @throws IllegalArgumentException 如果此行沒有該列
+     */
+    @Nullable
+    public Object get(@NotNull String column) {
+        Integer i = index.get(column.toLowerCase());
+        if (i == null) {
+            throw new IllegalArgumentException(String.format("No such column \"%s\"", column));
+        }
+        return values[i];
+    }
+
+    /**
+     * 以字符串獲取指定列的值。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回null
+     */
+    @Nullable
+    public String getString(@NotNull String column) {
+        Object value = get(column);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * 以整數獲取指定列的值。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回0
+     */
+    public int getInt(@NotNull String column) {
+        Object value = get(column);
+        return value instanceof Number n ? n.intValue() : value == null ? 0 : Integer.parseInt(value.toString());
+    }
+
+    /**
+     * 以長整數獲取指定列的值。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回0
+     */
+    public long getLong(@NotNull String column) {
+        Object value = get(column);
+        return value instanceof Number n ? n.longValue() : value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    /**
+     * 以雙精度浮點數獲取指定列的值。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回0
+     */
+    public double getDouble(@NotNull String column) {
+        Object value = get(column);
+        return value instanceof Number n ? n.doubleValue() : value == null ? 0D : Double.parseDouble(value.toString());
+    }
+
+    /**
+     * 以布林值獲取指定列的值，非零數字視為true。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回false
+     */
+    public boolean getBoolean(@NotNull String column) {
+        Object value = get(column);
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return value instanceof Number n ? n.longValue() != 0 : value != null && Boolean.parseBoolean(value.toString());
+    }
+
+    /**
+     * 以位元組陣列獲取指定列的值。
+     *
+     * @param column 列名
+     * @return 列的值，如果為NULL則返回null
+     */
+    public byte @Nullable [] getBytes(@NotNull String column) {
+        return (byte[]) get(column);
+    }
+
+    /**
+     * 將此行轉換為列名到值的Map。
+     *
+     * @return 按查詢順序排列的Map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            map.put(columns.get(i), values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "Row" + toMap();
+    }
+}
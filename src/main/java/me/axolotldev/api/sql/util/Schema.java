@@ -0,0 +1,71 @@
+package me.axolotldev.api.sql.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema類提供了生成表和索引定義SQL命令的實用方法。
+ *
+ * @since 2026-10-18
+ */
+public final class Schema {
+
+    private Schema() {
+    }
+
+    /**
+     * 生成創建表的SQL命令。
+     *
+     * @param tableId     要創建的表的ID
+     * @param ifNotExists 是否只在表不存在時創建
+     * @param data        表的數據模式
+     * @return 創建表的SQL命令
+     */
+    public static String createTable(@NotNull String tableId, boolean ifNotExists, TableUnit @NotNull ... data) {
+        final List<String> info = new ArrayList<>(data.length);
+        for (TableUnit tu : data) {
+            info.add(tu.toString());
+        }
+        return String.format("CREATE TABLE %s%s ( %s );", ifNotExists ? "IF NOT EXISTS " : "", tableId, String.join(", ", info));
+    }
+
+    /**
+     * 生成刪除表的SQL命令。
+     *
+     * @param tableId  要刪除的表的ID
+     * @param ifExists 是否只在表存在時刪除
+     * @return 刪除表的SQL命令
+     */
+    public static String dropTable(@NotNull String tableId, boolean ifExists) {
+        return String.format("DROP TABLE %s%s;", ifExists ? "IF EXISTS " : "", tableId);
+    }
+
+    /**
+     * 生成在一個或多個列上創建索引的SQL命令，索引已存在時不做任何事。
+     *
+     * @param indexName 索引的名稱
+     * @param tableId   表的ID
+     * @param unique    是否為唯一索引
+     * @param columns   索引包含的列，依序組成複合索引
+     * @return 創建索引的SQL命令
+     * @throws IllegalArgumentException 如果沒有指定任何列
+     */
+    public static String createIndex(@NotNull String indexName, @NotNull String tableId, boolean unique, String @NotNull ... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Index needs at least one column.");
+        }
+        return String.format("CREATE %sINDEX IF NOT EXISTS %s ON %s ( %s );", unique ? "UNIQUE " : "", indexName, tableId, String.join(", ", columns));
+    }
+
+    /**
+     * 生成刪除索引的SQL命令，索引不存在時不做任何事。
+     *
+     * @param indexName 索引的名稱
+     * @return 刪除索引的SQL命令
+     */
+    public static String dropIndex(@NotNull String indexName) {
+        return String.format("DROP INDEX IF EXISTS %s;", indexName);
+    }
+}
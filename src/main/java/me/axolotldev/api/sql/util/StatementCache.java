@@ -0,0 +1,73 @@
+package me.axolotldev.api.sql.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementCache類為單一連接保存以SQL為鍵的PreparedStatement LRU緩存。
+ * 由於連接一次只會被一個線程借用，此類不做同步。
+ *
+ * @since 2026-10-18
+ */
+final class StatementCache implements AutoCloseable {
+
+    private final Connection connection;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(@NotNull Connection connection, int capacity, @NotNull AtomicLong hits, @NotNull AtomicLong misses) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 獲取指定SQL的PreparedStatement，如果緩存中沒有則準備一個新的。
+     *
+     * @param sql 要準備的SQL命令
+     * @return 參數已清除的PreparedStatement
+     * @throws SQLException 如果無法準備SQL命令
+     */
+    PreparedStatement prepare(@NotNull String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits.incrementAndGet();
+            statement.clearParameters();
+            return statement;
+        }
+        misses.incrementAndGet();
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    @Override
+    public void close() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
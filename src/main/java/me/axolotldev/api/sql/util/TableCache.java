@@ -0,0 +1,210 @@
+package me.axolotldev.api.sql.util;
+
+import me.axolotldev.api.sql.interfaces.SQLFunction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TableCache類是以主鍵為索引、位於表前面的讀穿透緩存，按大小（LRU）和存活時間淘汰條目。
+ * 查不到的鍵也會被緩存，以免重複查詢不存在的行。
+ *
+ * @since 2026-10-18
+ */
+public final class TableCache {
+
+    private static final Object ABSENT = new Object();
+
+    private final String keyColumn;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long generation = 0;
+
+    /**
+     * 構造一個新的TableCache。
+     *
+     * @param keyColumn 作為主鍵的列名
+     * @param maxSize   緩存的最大條目數
+     * @param ttlMillis 條目的存活時間（毫秒），0表示不會過期
+     */
+    public TableCache(@NotNull String keyColumn, int maxSize, long ttlMillis) {
+        this.keyColumn = keyColumn;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > TableCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 獲取作為主鍵的列名。
+     *
+     * @return 主鍵列名
+     */
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    /**
+     * 從緩存中獲取指定鍵的行，未命中時使用loader從數據庫讀取並緩存結果。
+     * 如果讀取期間有失效操作，讀取結果不會被緩存，以免緩存到舊數據。
+     *
+     * @param key    主鍵的值
+     * @param loader 未命中時讀取行的函數，找不到時返回null
+     * @return 對應的行，如果不存在則返回null
+     * @throws SQLException 如果loader拋出異常
+     */
+    @Nullable
+    public Row get(@NotNull Object key, @NotNull SQLFunction<Object, Row> loader) throws SQLException {
+        final Object k = normalize(key);
+        final long seen;
+        synchronized (this) {
+            Entry entry = entries.get(k);
+            if (entry != null) {
+                if (ttlNanos == 0 || System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.value == ABSENT ? null : (Row) entry.value;
+                }
+                entries.remove(k);
+                evictions.incrementAndGet();
+            }
+            seen = generation;
+        }
+        misses.incrementAndGet();
+        Row row = loader.apply(key);
+        synchronized (this) {
+            if (seen == generation) {
+                entries.put(k, new Entry(row == null ? ABSENT : row, System.nanoTime()));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * 使指定鍵的緩存條目失效。
+     *
+     * @param key 主鍵的值
+     */
+    public synchronized void invalidate(@Nullable Object key) {
+        generation++;
+        invalidations.incrementAndGet();
+        entries.remove(normalize(key));
+    }
+
+    /**
+     * 使所有緩存條目失效。
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * 獲取目前緩存的條目數量。
+     *
+     * @return 條目數量
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 獲取緩存命中的次數。
+     *
+     * @return 命中次數
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * 獲取緩存未命中的次數。
+     *
+     * @return 未命中次數
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 獲取因大小或存活時間而被淘汰的條目數量。
+     *
+     * @return 淘汰次數
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * 獲取失效操作的次數。
+     *
+     * @return 失效次數
+     */
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    /**
+     * 獲取緩存命中率。
+     *
+     * @return 介於0和1之間的命中率
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private static Object normalize(Object key) {
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        } else if (key instanceof UUID || key instanceof Character) {
+            return key.toString();
+        } else if (key instanceof Enum<?> e) {
+            return e.name();
+        }
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "TableCache(" +
+                "key:" + keyColumn +
+                ", size:" + size() +
+                ", hits:" + hits.get() +
+                ", misses:" + misses.get() +
+                ", evictions:" + evictions.get() +
+                ")";
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long loadedAt;
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.List;
 
 /**
  * TableUnit類表示數據庫表的單元，包含其ID、類型和相關的數據信息。
+ * TableUnit是不可變的，可以被緩存並在多個線程中重複使用。
  *
  * @since 2024-02-24
  */
@@ -16,7 +17,8 @@ public final class TableUnit {
 
     private final String id;
     private final TableType type;
-    private final List<TableDataInfo> info = new ArrayList<>();
+    private final List<TableDataInfo> info;
+    private final String definition;
 
     /**
      * 使用指定的ID、類型和數據信息構造一個新的TableUnit。
@@ -28,7 +30,38 @@ public final class TableUnit {
     public TableUnit(@NotNull String id, @NotNull TableType type, @NotNull TableDataInfo... info) {
         this.id = id;
         this.type = type;
-        this.info.addAll(List.of(info));
+        this.info = List.of(info);
+
+        ArrayList<String> command = new ArrayList<>(List.of(this.id, this.type.name()));
+        this.info.forEach(i -> command.add(i.toString()));
+        this.definition = String.join(" ", command);
+    }
+
+    /**
+     * 獲取表單元的ID。
+     *
+     * @return 表單元的ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 獲取表單元的類型。
+     *
+     * @return 表單元的類型
+     */
+    public TableType getType() {
+        return type;
+    }
+
+    /**
+     * 獲取表單元相關的數據信息。
+     *
+     * @return 不可修改的數據信息列表
+     */
+    public List<TableDataInfo> getInfo() {
+        return info;
     }
 
     /**
@@ -38,11 +71,7 @@ public final class TableUnit {
      */
     @Override
     public String toString() {
-        ArrayList<String> command = new ArrayList<>(List.of(this.id, this.type.name()));
-
-        this.info.forEach(info -> command.add(info.toString()));
-
-        return String.join(" ", command);
+        return definition;
     }
 
 }
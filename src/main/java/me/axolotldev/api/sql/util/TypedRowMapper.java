@@ -0,0 +1,252 @@
+package me.axolotldev.api.sql.util;
+
+import me.axolotldev.api.sql.interfaces.RowMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * TypedRowMapper類將查詢結果的每一行映射到Java record或POJO。
+ * 列與欄位的對應關係按（類型，列名組合）解析一次後緩存，逐行映射時只調用預先準備好的MethodHandle。
+ * 列名不區分大小寫，並會忽略底線，因此player_uuid可以對應到playerUuid。
+ *
+ * @param <T> 映射結果的類型
+ * @since 2026-10-18
+ */
+public final class TypedRowMapper<T> implements RowMapper<T> {
+
+    private static final Map<Class<?>, TypeInfo> types = new ConcurrentHashMap<>();
+
+    private final TypeInfo info;
+    private Plan plan;
+
+    private TypedRowMapper(TypeInfo info) {
+        this.info = info;
+    }
+
+    /**
+     * 為指定的類型創建一個TypedRowMapper。
+     * 返回的映射器會記住第一行的列信息，因此每次查詢都應使用新的實例，反射信息則在所有實例間共享。
+     *
+     * @param type 要映射到的record或具有無參構造函數的類
+     * @param <T>  映射結果的類型
+     * @return 新的TypedRowMapper
+     * @throws IllegalArgumentException 如果類型既不是record也沒有無參構造函數
+     */
+    public static <T> TypedRowMapper<T> of(@NotNull Class<T> type) {
+        return new TypedRowMapper<>(types.computeIfAbsent(type, TypeInfo::new));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet rs) throws SQLException {
+        if (plan == null) {
+            ResultSetMetaData meta = rs.getMetaData();
+            String[] labels = new String[meta.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = meta.getColumnLabel(i + 1);
+            }
+            // Labels such as COALESCE(a, 0) contain commas, so the key must keep them as separate elements.
+            plan = info.plans.computeIfAbsent(List.of(labels), key -> info.plan(labels));
+        }
+        try {
+            return (T) plan.map(rs);
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException(String.format("Cannot map row to %s", info.type.getName()), e);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase();
+    }
+
+    private static final class TypeInfo {
+
+        private final Class<?> type;
+        private final Map<List<String>, Plan> plans = new ConcurrentHashMap<>();
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final Class<?>[] slotTypes;
+        private final MethodHandle constructor;
+        private final MethodHandle[] setters;
+
+        private TypeInfo(Class<?> type) {
+            this.type = type;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                if (type.isRecord()) {
+                    RecordComponent[] components = type.getRecordComponents();
+                    slotTypes = new Class<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        slots.put(normalize(components[i].getName()), i);
+                        slotTypes[i] = components[i].getType();
+                    }
+                    Constructor<?> canonical = type.getDeclaredConstructor(slotTypes);
+                    canonical.setAccessible(true);
+                    constructor = lookup.unreflectConstructor(canonical)
+                            .asSpreader(Object[].class, components.length)
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    setters = null;
+                } else {
+                    Constructor<?> noArgs = type.getDeclaredConstructor();
+                    noArgs.setAccessible(true);
+                    constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+                    Map<String, MethodHandle> found = new HashMap<>();
+                    Map<String, Class<?>> foundTypes = new HashMap<>();
+                    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            int mod = field.getModifiers();
+                            String key = normalize(field.getName());
+                            if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || found.containsKey(key)) {
+                                continue;
+                            }
+                            field.setAccessible(true);
+                            found.put(key, lookup.unreflectSetter(field));
+                            foundTypes.put(key, field.getType());
+                        }
+                    }
+                    for (Method method : type.getMethods()) {
+                        if (method.getName().length() > 3 && method.getName().startsWith("set") && method.getParameterCount() == 1
+                                && !Modifier.isStatic(method.getModifiers())) {
+                            String key = normalize(method.getName().substring(3));
+                            found.put(key, lookup.unreflect(method));
+                            foundTypes.put(key, method.getParameterTypes()[0]);
+                        }
+                    }
+                    setters = new MethodHandle[found.size()];
+                    slotTypes = new Class<?>[found.size()];
+                    int i = 0;
+                    for (Map.Entry<String, MethodHandle> entry : found.entrySet()) {
+                        slots.put(entry.getKey(), i);
+                        slotTypes[i] = foundTypes.get(entry.getKey());
+                        setters[i] = entry.getValue().asType(MethodType.methodType(void.class, Object.class, Object.class));
+                        i++;
+                    }
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(String.format("%s must be a record or have a no-argument constructor", type.getName()), e);
+            }
+        }
+
+        private Plan plan(String[] columns) {
+            int[] targets = new int[columns.length];
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Function<Object, Object>[] converters = new Function[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Integer slot = slots.get(normalize(columns[i]));
+                targets[i] = slot == null ? -1 : slot;
+                converters[i] = slot == null ? null : converter(slotTypes[slot]);
+            }
+            Object[] defaults = new Object[slotTypes.length];
+            for (int i = 0; i < slotTypes.length; i++) {
+                defaults[i] = slotTypes[i].isPrimitive() ? converter(slotTypes[i]).apply(null) : null;
+            }
+            return new Plan(this, targets, converters, defaults);
+        }
+    }
+
+    private static final class Plan {
+
+        private final TypeInfo info;
+        private final int[] targets;
+        private final Function<Object, Object>[] converters;
+        private final Object[] defaults;
+
+        private Plan(TypeInfo info, int[] targets, Function<Object, Object>[] converters, Object[] defaults) {
+            this.info = info;
+            this.targets = targets;
+            this.converters = converters;
+            this.defaults = defaults;
+        }
+
+        private Object map(ResultSet rs) throws Throwable {
+            if (info.setters == null) {
+                Object[] args = defaults.clone();
+                for (int i = 0; i < targets.length; i++) {
+                    if (targets[i] >= 0) {
+                        args[targets[i]] = converters[i].apply(rs.getObject(i + 1));
+                    }
+                }
+                return (Object) info.constructor.invokeExact(args);
+            }
+            Object instance = (Object) info.constructor.invokeExact();
+            for (int i = 0; i < targets.length; i++) {
+                if (targets[i] >= 0) {
+                    Object value = converters[i].apply(rs.getObject(i + 1));
+                    if (value != null || !info.slotTypes[targets[i]].isPrimitive()) {
+                        info.setters[targets[i]].invokeExact(instance, value);
+                    }
+                }
+            }
+            return instance;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> converter(Class<?> target) {
+        if (target == int.class || target == Integer.class) {
+            return numeric(target, v -> v.intValue(), 0);
+        } else if (target == long.class || target == Long.class) {
+            return numeric(target, v -> v.longValue(), 0L);
+        } else if (target == double.class || target == Double.class) {
+            return numeric(target, v -> v.doubleValue(), 0D);
+        } else if (target == float.class || target == Float.class) {
+            return numeric(target, v -> v.floatValue(), 0F);
+        } else if (target == short.class || target == Short.class) {
+            return numeric(target, v -> v.shortValue(), (short) 0);
+        } else if (target == byte.class || target == Byte.class) {
+            return numeric(target, v -> v.byteValue(), (byte) 0);
+        } else if (target == boolean.class || target == Boolean.class) {
+            return v -> v == null ? (target.isPrimitive() ? false : null)
+                    : v instanceof Boolean ? v
+                    : v instanceof Number n ? n.longValue() != 0
+                    : Boolean.parseBoolean(v.toString());
+        } else if (target == String.class) {
+            return v -> v == null ? null : v.toString();
+        } else if (target == UUID.class) {
+            return v -> v == null ? null : v instanceof UUID ? v : UUID.fromString(v.toString());
+        } else if (target == BigDecimal.class) {
+            return v -> v == null ? null : v instanceof BigDecimal ? v : new BigDecimal(v.toString());
+        } else if (target == Instant.class) {
+            return v -> v == null ? null : v instanceof Number n ? Instant.ofEpochMilli(n.longValue())
+                    : v instanceof Timestamp ts ? ts.toInstant() : Timestamp.valueOf(v.toString()).toInstant();
+        } else if (target == LocalDateTime.class) {
+            return v -> v == null ? null : v instanceof Number n ? new Timestamp(n.longValue()).toLocalDateTime()
+                    : v instanceof Timestamp ts ? ts.toLocalDateTime() : Timestamp.valueOf(v.toString()).toLocalDateTime();
+        } else if (target.isEnum()) {
+            return v -> v == null ? null : Enum.valueOf((Class) target, v.toString());
+        }
+        return v -> v == null || target.isInstance(v) ? v : target.cast(v);
+    }
+
+    private static Function<Object, Object> numeric(Class<?> target, Function<Number, Object> narrow, Object zero) {
+        boolean primitive = target.isPrimitive();
+        return v -> {
+            if (v == null) {
+                return primitive ? zero : null;
+            }
+            return narrow.apply(v instanceof Number n ? n : new BigDecimal(v.toString()));
+        };
+    }
+}
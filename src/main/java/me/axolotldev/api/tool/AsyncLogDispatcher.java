@@ -0,0 +1,213 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.interfaces.LogAppender;
+import me.axolotldev.api.tool.enumerate.AsyncOverflow;
+import me.axolotldev.api.tool.enumerate.Level;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncLogDispatcher類將日誌事件放入{@link LogRingBuffer}，由單一的消費線程格式化並成批寫入每一個輸出目標。
+ * 調用者只需填寫一個預先分配的事件，不會因輸出I/O而阻塞。
+ * 字符串、基本類型的包裝類和枚舉等不可變的參數直接保存在事件中；其他參數在調用線程上先轉換為字符串，
+ * 因此記錄的是調用時的狀態，消費線程也不會與調用者同時訪問這些對象。
+ * <p>
+ * 消費線程空閒時會暫停，生產者發布事件後只在它暫停時才喚醒它。
+ * JVM關閉時，關閉鉤子會等待消費線程寫完所有已發布的事件。
+ *
+ * @since 2026-10-18
+ */
+final class AsyncLogDispatcher {
+
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final LogRingBuffer buffer;
+    private final AsyncOverflow policy;
+    private final Thread consumer;
+    private final Thread shutdownHook;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean sleeping = false;
+    private volatile long written = 0;
+
+    AsyncLogDispatcher(int capacity, @NotNull AsyncOverflow policy) {
+        this.buffer = new LogRingBuffer(capacity);
+        this.policy = policy;
+        this.consumer = new Thread(this::run, "DevTool-Logger");
+        this.consumer.setDaemon(true);
+        this.shutdownHook = new Thread(this::stop, "DevTool-Logger-Shutdown");
+        this.consumer.start();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * 將一條日誌放入緩衝區。
+     *
+     * @return 是否已被接收或按策略丟棄；返回false時調用者應自行同步寫入
+     */
+    boolean publish(@NotNull Level level, @Nullable String loggerName, @Nullable String message, int argCount,
+                    @Nullable Object arg0, @Nullable Object arg1, @Nullable Object[] args, @Nullable Throwable error) {
+        if (!running || Thread.currentThread() == consumer) {
+            return false;
+        }
+        // Arguments are captured before a slot is claimed: their toString() may throw, and a claimed slot that is
+        // never published would stall the consumer and lose every later message.
+        Object value0 = arg0;
+        Object value1 = arg1;
+        Object[] values = args;
+        if (message != null && argCount != 0 && message.indexOf("{}") < 0 && message.indexOf('%') >= 0) {
+            // String.format conversions such as %d need the original argument types, so format on this thread.
+            StringBuilder sb = new StringBuilder();
+            try {
+                LogFormatter.format(sb, message, argCount, arg0, arg1, args);
+            } catch (RuntimeException e) {
+                sb.setLength(0);
+                sb.append(message).append(' ').append(failure(e));
+            }
+            message = sb.toString();
+            argCount = 0;
+            value0 = null;
+            value1 = null;
+            values = null;
+        } else if (argCount != 0) {
+            value0 = capture(arg0);
+            value1 = capture(arg1);
+            values = capture(args);
+        }
+        long position;
+        while ((position = buffer.tryClaim()) < 0) {
+            switch (policy) {
+                case DISCARD:
+                    dropped.incrementAndGet();
+                    return true;
+                case SYNCHRONOUS:
+                    return false;
+                default:
+                    LockSupport.unpark(consumer);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (!running) {
+                        return false;
+                    }
+            }
+        }
+        try {
+            buffer.get(position).set(level, loggerName, message, argCount, value0, value1, values, error);
+        } finally {
+            buffer.publish(position);
+        }
+        if (sleeping) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private static Object capture(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Double || value instanceof Float || value instanceof Boolean
+                || value instanceof Character || value instanceof Short || value instanceof Byte || value instanceof Enum) {
+            return value;
+        }
+        // Collections, builders and entities may change or be in use on the caller's thread after the call returns.
+        StringBuilder sb = new StringBuilder();
+        try {
+            LogFormatter.appendValue(sb, value);
+        } catch (RuntimeException e) {
+            return failure(e);
+        }
+        return sb.toString();
+    }
+
+    private static String failure(RuntimeException e) {
+        return "<argument toString() failed: " + e + ">";
+    }
+
+    private static Object[] capture(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            copy[i] = capture(args[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * 等待在調用之前發布的所有日誌都已寫入輸出目標。
+     */
+    void flush() {
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+        long target = buffer.getTail();
+        while (written < target && consumer.isAlive()) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+    }
+
+    /**
+     * 停止消費線程，並在停止前寫完所有已發布的日誌。
+     */
+    void close() {
+        stop();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // Already shutting down, the hook is running or has run.
+        }
+    }
+
+    private void stop() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            if (drain() == 0) {
+                sleeping = true;
+                if (buffer.peek() == null && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+        while (drain() > 0) {
+            // Write whatever was published before stop() was called.
+        }
+    }
+
+    private int drain() {
+        LogAppender[] targets = Logger.appenders();
+        int count = 0;
+        LogEvent event;
+        while (count < BATCH_SIZE && (event = buffer.peek()) != null) {
+            Logger.write(event, targets);
+            buffer.release();
+            count++;
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            Logger.write(new LogEvent().set(Level.WARNING, "Logger", "{} log messages were discarded because the buffer was full.",
+                    1, lost, null, null, null), targets);
+        }
+        if (count > 0 || lost > 0) {
+            Logger.flush(targets);
+        }
+        written = buffer.getHead();
+        return count;
+    }
+}
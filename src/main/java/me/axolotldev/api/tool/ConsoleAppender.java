@@ -0,0 +1,69 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.interfaces.LogAppender;
+import me.axolotldev.api.interfaces.LogLayout;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * ConsoleAppender類將日誌寫入標準輸出，帶有異常的日誌寫入標準錯誤輸出。
+ * 日誌先在內存中累積，在{@link #flush()}時一次寫出。這是Logger默認使用的輸出目標。
+ *
+ * @since 2026-10-18
+ */
+public final class ConsoleAppender implements LogAppender {
+
+    private final StringBuilder out = new StringBuilder(8192);
+    private final StringBuilder err = new StringBuilder(1024);
+    private final StringBuilder line = new StringBuilder(256);
+    private boolean formatting = false;
+    private LogLayout layout = LogLayout.TEXT;
+
+    /**
+     * 設置日誌的格式，默認為{@link LogLayout#TEXT}。
+     *
+     * @param layout 日誌格式
+     * @return 此ConsoleAppender以便方法鏈接
+     */
+    public synchronized ConsoleAppender setLayout(@NotNull LogLayout layout) {
+        this.layout = layout;
+        return this;
+    }
+
+    @Override
+    public synchronized void append(@NotNull LogEvent event) {
+        // An argument's toString() may log again on this thread while the line is formatted,
+        // so a nested call formats into its own builder and every line is appended whole.
+        boolean nested = formatting;
+        StringBuilder target = nested ? new StringBuilder(256) : line;
+        formatting = true;
+        try {
+            target.setLength(0);
+            layout.format(event, target);
+            (event.isError() ? err : out).append(target);
+        } finally {
+            formatting = nested;
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+        if (out.capacity() > 1 << 20) {
+            out.trimToSize();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConsoleAppender(layout:" + layout + ")";
+    }
+}
@@ -0,0 +1,175 @@
+package me.axolotldev.api.tool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ExceptionFormatter類將異常格式化為與{@link Throwable#printStackTrace()}相同的文本，並為異常計算指紋。
+ * 格式化會包含cause鏈和被抑制的異常，與外層相同的堆棧幀會折疊為{@code ... N more}。
+ * <p>
+ * 指紋只由異常的類型和堆棧幀決定，不包含消息，因此同一位置拋出的同類異常有相同的指紋。
+ * 同一指紋在一段時間內只會輸出一次完整的堆棧，之後的重複只輸出指紋和次數。
+ *
+ * @since 2026-10-18
+ */
+final class ExceptionFormatter {
+
+    private static final int MAX_TRACES = 512;
+    private static final long FULL_TRACE_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+    private static final ConcurrentHashMap<Long, Seen> TRACES = new ConcurrentHashMap<>();
+
+    private ExceptionFormatter() {
+    }
+
+    private static final class Seen {
+
+        private final AtomicLong count = new AtomicLong();
+        private volatile long lastFullTrace;
+
+        private Seen(long now) {
+            this.lastFullTrace = now;
+        }
+    }
+
+    /**
+     * 計算異常的指紋，包含其cause鏈和所有被抑制的異常。
+     *
+     * @param error 異常
+     * @return 64位的指紋
+     */
+    static long fingerprint(@NotNull Throwable error) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.push(error);
+        long hash = 0x9E3779B97F4A7C15L;
+        while (!pending.isEmpty()) {
+            Throwable current = pending.pop();
+            if (!seen.add(current)) {
+                continue;
+            }
+            hash = mix(hash, current.getClass().getName().hashCode());
+            for (StackTraceElement element : current.getStackTrace()) {
+                hash = mix(hash, element.hashCode());
+            }
+            for (Throwable suppressed : current.getSuppressed()) {
+                pending.push(suppressed);
+            }
+            if (current.getCause() != null) {
+                pending.push(current.getCause());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 記錄一次指紋的出現。
+     *
+     * @param fingerprint 指紋
+     * @param now         當前時間（毫秒）
+     * @return 自上次輸出完整堆棧以來的出現次數，1表示此次應輸出完整堆棧
+     */
+    static long occurrence(long fingerprint, long now) {
+        Seen seen = TRACES.get(fingerprint);
+        if (seen == null) {
+            if (TRACES.size() >= MAX_TRACES) {
+                // Forgetting every trace only costs one extra full trace per fingerprint.
+                TRACES.clear();
+            }
+            seen = TRACES.computeIfAbsent(fingerprint, key -> new Seen(now));
+        } else if (now - seen.lastFullTrace >= FULL_TRACE_INTERVAL) {
+            seen.lastFullTrace = now;
+            seen.count.set(0);
+        }
+        return seen.count.incrementAndGet();
+    }
+
+    /**
+     * 將指紋的短形式（8位十六進制）附加到StringBuilder。
+     *
+     * @param sb          目標StringBuilder
+     * @param fingerprint 指紋
+     * @return 目標StringBuilder
+     */
+    static StringBuilder appendFingerprint(@NotNull StringBuilder sb, long fingerprint) {
+        int value = (int) (fingerprint ^ (fingerprint >>> 32));
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            sb.append(Character.forDigit((value >>> shift) & 0xF, 16));
+        }
+        return sb;
+    }
+
+    /**
+     * 將異常的完整堆棧附加到StringBuilder，每一行以換行符結尾。
+     *
+     * @param sb    目標StringBuilder
+     * @param error 異常
+     */
+    static void appendTrace(@NotNull StringBuilder sb, @NotNull Throwable error) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.add(error);
+        StackTraceElement[] trace = error.getStackTrace();
+        sb.append(error).append('\n');
+        for (StackTraceElement element : trace) {
+            sb.append("\tat ").append(element).append('\n');
+        }
+        for (Throwable suppressed : error.getSuppressed()) {
+            appendEnclosed(sb, suppressed, trace, "Suppressed: ", "\t", seen);
+        }
+        if (error.getCause() != null) {
+            appendEnclosed(sb, error.getCause(), trace, "Caused by: ", "", seen);
+        }
+    }
+
+    /**
+     * 計算一個堆棧與外層堆棧末尾相同的幀數。
+     *
+     * @param trace     堆棧
+     * @param enclosing 外層異常的堆棧
+     * @return 相同的幀數
+     */
+    static int framesInCommon(@NotNull StackTraceElement[] trace, @NotNull StackTraceElement[] enclosing) {
+        int m = trace.length - 1;
+        int n = enclosing.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosing[n])) {
+            m--;
+            n--;
+        }
+        return trace.length - 1 - m;
+    }
+
+    private static void appendEnclosed(StringBuilder sb, Throwable error, StackTraceElement[] enclosing,
+                                       String caption, String indent, Set<Throwable> seen) {
+        if (!seen.add(error)) {
+            sb.append(indent).append(caption).append("[CIRCULAR REFERENCE: ").append(error).append("]\n");
+            return;
+        }
+        StackTraceElement[] trace = error.getStackTrace();
+        int common = framesInCommon(trace, enclosing);
+        sb.append(indent).append(caption).append(error).append('\n');
+        for (int i = 0; i < trace.length - common; i++) {
+            sb.append(indent).append("\tat ").append(trace[i]).append('\n');
+        }
+        if (common > 0) {
+            sb.append(indent).append("\t... ").append(common).append(" more\n");
+        }
+        for (Throwable suppressed : error.getSuppressed()) {
+            appendEnclosed(sb, suppressed, trace, "Suppressed: ", indent + "\t", seen);
+        }
+        if (error.getCause() != null) {
+            appendEnclosed(sb, error.getCause(), trace, "Caused by: ", indent, seen);
+        }
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -3,16 +3,39 @@ package me.axolotldev.api.tool;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * FileReader類別提供了用於從文件讀取和保存數據的實用方法。
+ * <p>
+ * {@link #lines(File, Charset)}和{@link #mappedLines(File, Charset)}以惰性的Stream逐行讀取，
+ * 無論文件多大都只佔用固定的內存；後者以內存映射讀取，並能在行的邊界上切分，以並行Stream或{@link ForkJoinPool}處理。
+ * 無法解碼的字節會被替換為替換字符，而不是拋出異常。
  *
  * @since 2024-02-08
  */
 public final class FileReader {
 
+    private static final long WINDOW_SIZE = 64L << 20;
+    private static final long MIN_SPLIT_SIZE = 1L << 20;
+
     /**
      * 將文件的內容讀取到一個字符串集合中。
      *
@@ -21,16 +44,119 @@ public final class FileReader {
      * @throws IOException 如果在讀取文件時發生I/O錯誤。
      */
     public static @NotNull Collection<String> read(File file) throws IOException {
-        Collection<String> output = new ArrayList<>();
+        return read(file, Charset.defaultCharset());
+    }
+
+    /**
+     * 以指定的字符集將文件的內容讀取到一個字符串集合中。
+     * 大文件應改用{@link #lines(File, Charset)}，以免將所有行都保存在內存中。
+     *
+     * @param file    要讀取的文件。
+     * @param charset 文件的字符集。
+     * @return 包含從文件讀取的行的集合。
+     * @throws IOException 如果在讀取文件時發生I/O錯誤。
+     */
+    public static @NotNull Collection<String> read(File file, @NotNull Charset charset) throws IOException {
+        try (Stream<String> lines = lines(file, charset)) {
+            return lines.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-        try (BufferedReader reader = new BufferedReader(new java.io.FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.add(line);
+    /**
+     * 以UTF-8逐行讀取文件。
+     *
+     * @param file 要讀取的文件。
+     * @return 文件中各行的Stream，使用完畢後必須關閉。
+     * @throws IOException 如果無法打開文件。
+     * @see #lines(File, Charset)
+     */
+    public static @NotNull Stream<String> lines(File file) throws IOException {
+        return lines(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 以指定的字符集逐行讀取文件，行只在Stream被消費時才讀取，因此只佔用固定的內存。
+     *
+     * @param file    要讀取的文件。
+     * @param charset 文件的字符集。
+     * @return 文件中各行的Stream，使用完畢後必須關閉，讀取錯誤會以UncheckedIOException拋出。
+     * @throws IOException 如果無法打開文件。
+     */
+    public static @NotNull Stream<String> lines(File file, @NotNull Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath()), decoder), 1 << 16);
+        return reader.lines().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        });
+    }
+
+    /**
+     * 以內存映射的方式逐行讀取文件，每次只映射文件的一部分。
+     * 返回的Stream可以調用{@link Stream#parallel()}，文件會在行的邊界上被切分給多個線程處理，行的順序在並行時不保證。
+     * 只有UTF-8和與ASCII兼容的單字節字符集可以按字節切分行，其他字符集會退回到{@link #lines(File, Charset)}。
+     *
+     * @param file    要讀取的文件。
+     * @param charset 文件的字符集。
+     * @return 文件中各行的Stream，使用完畢後必須關閉，讀取錯誤會以UncheckedIOException拋出。
+     * @throws IOException 如果無法打開文件。
+     */
+    public static @NotNull Stream<String> mappedLines(File file, @NotNull Charset charset) throws IOException {
+        if (!isAsciiCompatible(charset)) {
+            return lines(file, charset);
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            MappedLineSpliterator spliterator = new MappedLineSpliterator(channel, charset, 0, channel.size());
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            channel.close();
+            throw e;
         }
+    }
+
+    /**
+     * 在公共的{@link ForkJoinPool}上並行處理文件的每一行。
+     *
+     * @param file    要讀取的文件。
+     * @param charset 文件的字符集。
+     * @param action  對每一行執行的操作，會被多個線程同時調用。
+     * @throws IOException 如果在讀取文件時發生I/O錯誤。
+     */
+    public static void forEachLine(File file, @NotNull Charset charset, @NotNull Consumer<? super String> action) throws IOException {
+        forEachLine(file, charset, action, ForkJoinPool.commonPool());
+    }
 
-        return output;
+    /**
+     * 在指定的{@link ForkJoinPool}上並行處理文件的每一行，文件以內存映射讀取並按行的邊界切分成多個塊。
+     * 此方法在所有行處理完畢後才返回。
+     *
+     * @param file    要讀取的文件。
+     * @param charset 文件的字符集。
+     * @param action  對每一行執行的操作，會被多個線程同時調用。
+     * @param pool    執行處理的線程池。
+     * @throws IOException 如果在讀取文件時發生I/O錯誤。
+     */
+    public static void forEachLine(File file, @NotNull Charset charset, @NotNull Consumer<? super String> action,
+                                   @NotNull ForkJoinPool pool) throws IOException {
+        try (Stream<String> lines = mappedLines(file, charset)) {
+            pool.submit(() -> lines.parallel().forEach(action)).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     /**
@@ -41,7 +167,19 @@ public final class FileReader {
      * @throws IOException 如果在寫入文件時發生I/O錯誤。
      */
     public static void save(File file, String @NotNull ... data) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        save(file, Charset.defaultCharset(), data);
+    }
+
+    /**
+     * 以指定的字符集將數據保存到文件中。
+     *
+     * @param file    要保存數據的文件。
+     * @param charset 文件的字符集。
+     * @param data    要保存的數據。
+     * @throws IOException 如果在寫入文件時發生I/O錯誤。
+     */
+    public static void save(File file, @NotNull Charset charset, String @NotNull ... data) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), charset))) {
             for (String s : data) {
                 writer.write(s);
                 writer.newLine();
@@ -57,9 +195,148 @@ public final class FileReader {
      * @throws IOException 如果在寫入文件時發生I/O錯誤。
      */
     public static void writeBelow(File file, @NotNull String data) throws IOException {
-        try (FileWriter fileWriter = new FileWriter(file, true); BufferedWriter bufferedWriter = new BufferedWriter(fileWriter)) {
+        writeBelow(file, Charset.defaultCharset(), data);
+    }
+
+    /**
+     * 以指定的字符集將數據寫入文件現有內容的下方。
+     *
+     * @param file    要將數據寫入的文件。
+     * @param charset 文件的字符集。
+     * @param data    要寫入的數據。
+     * @throws IOException 如果在寫入文件時發生I/O錯誤。
+     */
+    public static void writeBelow(File file, @NotNull Charset charset, @NotNull String data) throws IOException {
+        try (BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), charset))) {
             bufferedWriter.write(data);
             bufferedWriter.newLine();
         }
     }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return true;
+        }
+        // A single-byte charset can be split on 0x0A only if it encodes line breaks the way ASCII does.
+        return charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f
+                && Arrays.equals("\r\n".getBytes(charset), new byte[]{'\r', '\n'});
+    }
+
+    /**
+     * 逐行讀取文件中的一段字節範圍，範圍的起點和終點都在行的邊界上。
+     * 每次只映射一個窗口，窗口在讀到其末尾時才重新映射，因此內存佔用與文件大小無關。
+     */
+    private static final class MappedLineSpliterator implements Spliterator<String> {
+
+        private final FileChannel channel;
+        private final Charset charset;
+        private long position;
+        private final long end;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private byte[] scratch = new byte[256];
+
+        private MappedLineSpliterator(FileChannel channel, Charset charset, long position, long end) {
+            this.channel = channel;
+            this.charset = charset;
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (position >= end) {
+                return false;
+            }
+            try {
+                long size = WINDOW_SIZE;
+                while (true) {
+                    if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                        map(position, size);
+                    }
+                    int from = (int) (position - windowStart);
+                    int limit = window.limit();
+                    int newline = from;
+                    while (newline < limit && window.get(newline) != '\n') {
+                        newline++;
+                    }
+                    boolean lastInFile = windowStart + limit >= end;
+                    if (newline < limit || lastInFile) {
+                        action.accept(decode(from, newline));
+                        position = windowStart + Math.min(newline + 1, limit);
+                        return true;
+                    }
+                    // The line runs past this window, so remap starting at the line with a larger window.
+                    size = Math.min(Integer.MAX_VALUE, size * 2);
+                    window = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (end - position < MIN_SPLIT_SIZE) {
+                return null;
+            }
+            try {
+                long split = nextLineStart(position + (end - position) / 2);
+                if (split <= position || split >= end) {
+                    return null;
+                }
+                MappedLineSpliterator prefix = new MappedLineSpliterator(channel, charset, position, split);
+                position = split;
+                return prefix;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private void map(long start, long size) throws IOException {
+            windowStart = start;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, end - start));
+        }
+
+        private String decode(int from, int to) {
+            if (to > from && window.get(to - 1) == '\r') {
+                to--;
+            }
+            int length = to - from;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            window.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+
+        private long nextLineStart(long from) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long offset = from;
+            while (offset < end) {
+                buffer.clear();
+                int read = channel.read(buffer, offset);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += read;
+            }
+            return end;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.interfaces.LogLayout;
+import me.axolotldev.api.tool.builder.JsonStreamBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JsonLayout類將每條日誌輸出為一行JSON對象，便於日誌收集系統直接解析，不需要再以正則表達式拆分文本。
+ * 對象包含timestamp（自1970年起的微秒數）、level、prefix、thread、message，
+ * 以及非空時的context（{@link LogContext}中的鍵值）和error（異常、其cause鏈、被抑制的異常和每一層的堆棧）。
+ * 與外層相同的堆棧幀只以commonFrames計數；同一指紋重複出現時，error只包含類型、消息、fingerprint和occurrence。
+ * <p>
+ * JSON以{@link JsonStreamBuilder}直接寫入目標StringBuilder，不會為每條日誌構建JsonObject樹。
+ *
+ * @since 2026-10-18
+ */
+public final class JsonLayout implements LogLayout {
+
+    private static final int MAX_DEPTH = 16;
+    // The slot is empty while its writer is in use, so a nested log call on the same thread gets a fresh one.
+    private static final ThreadLocal<JsonStreamBuilder[]> WRITER = ThreadLocal.withInitial(
+            () -> new JsonStreamBuilder[]{new JsonStreamBuilder(new StringBuilder())});
+
+    @Override
+    public void format(@NotNull LogEvent event, @NotNull StringBuilder sb) {
+        JsonStreamBuilder[] slot = WRITER.get();
+        JsonStreamBuilder reused = slot[0];
+        slot[0] = null;
+        JsonStreamBuilder json = reused != null ? reused.reset(sb) : new JsonStreamBuilder(sb);
+        StringBuilder message = LogFormatter.acquireBuilder();
+        try {
+            format(event, json, message, sb);
+        } finally {
+            LogFormatter.releaseBuilder(message);
+            if (reused != null) {
+                slot[0] = reused;
+            }
+        }
+    }
+
+    private static void format(LogEvent event, JsonStreamBuilder json, StringBuilder message, StringBuilder sb) {
+        event.appendMessage(message);
+        json.beginObject()
+                .setKV("timestamp", event.getTimestampMicros())
+                .setKV("level", event.getLevel().name())
+                .setKV("prefix", event.getLoggerName())
+                .setKV("thread", event.getThreadName())
+                .setKV("message", message);
+        Map<String, Object> context = event.getContext();
+        if (!context.isEmpty()) {
+            json.name("context").beginObject();
+            // forEach avoids the entry wrappers that iterating an unmodifiable map's entrySet allocates.
+            context.forEach(json::setKV);
+            json.endObject();
+        }
+        if (event.getError() != null) {
+            json.name("error");
+            appendError(json, event);
+        }
+        json.endObject();
+        sb.append('\n');
+    }
+
+    private static void appendError(JsonStreamBuilder json, LogEvent event) {
+        Throwable error = event.getError();
+        long occurrence = event.getErrorOccurrence();
+        StringBuilder fingerprint = ExceptionFormatter.appendFingerprint(new StringBuilder(8), event.getErrorFingerprint());
+        json.beginObject()
+                .setKV("type", error.getClass().getName())
+                .setKV("message", error.getMessage())
+                .setKV("fingerprint", fingerprint)
+                .setKV("occurrence", occurrence);
+        if (occurrence <= 1) {
+            Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            seen.add(error);
+            appendDetails(json, error, new StackTraceElement[0], seen, 0);
+        }
+        json.endObject();
+    }
+
+    private static void appendThrowable(JsonStreamBuilder json, Throwable error, StackTraceElement[] enclosing,
+                                        Set<Throwable> seen, int depth) {
+        json.beginObject()
+                .setKV("type", error.getClass().getName())
+                .setKV("message", error.getMessage());
+        if (seen.add(error) && depth < MAX_DEPTH) {
+            appendDetails(json, error, enclosing, seen, depth);
+        } else {
+            json.setKV("circular", true);
+        }
+        json.endObject();
+    }
+
+    private static void appendDetails(JsonStreamBuilder json, Throwable error, StackTraceElement[] enclosing,
+                                      Set<Throwable> seen, int depth) {
+        StackTraceElement[] trace = error.getStackTrace();
+        int common = ExceptionFormatter.framesInCommon(trace, enclosing);
+        json.name("stack").beginArray();
+        for (int i = 0; i < trace.length - common; i++) {
+            json.value(trace[i].toString());
+        }
+        json.endArray();
+        if (common > 0) {
+            json.setKV("commonFrames", common);
+        }
+        Throwable[] suppressed = error.getSuppressed();
+        if (suppressed.length > 0) {
+            json.name("suppressed").beginArray();
+            for (Throwable throwable : suppressed) {
+                appendThrowable(json, throwable, trace, seen, depth + 1);
+            }
+            json.endArray();
+        }
+        if (error.getCause() != null) {
+            json.name("cause");
+            appendThrowable(json, error.getCause(), trace, seen, depth + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonLayout()";
+    }
+}
@@ -0,0 +1,96 @@
+package me.axolotldev.api.tool;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LogContext類保存當前線程的鍵值上下文，每條日誌都會帶上記錄時的上下文，並由{@link JsonLayout}輸出。
+ * 上下文是不可變的，修改時會創建一個新的Map，因此記錄日誌時只需保存一個引用，不需要複製。
+ *
+ * @since 2026-10-18
+ */
+public final class LogContext {
+
+    private static final ThreadLocal<Map<String, Object>> CONTEXT = ThreadLocal.withInitial(Collections::emptyMap);
+
+    private LogContext() {
+    }
+
+    /**
+     * 表示一個暫時加入的鍵值，關閉時恢復加入之前的上下文。
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Map<String, Object> previous;
+
+        private Scope(Map<String, Object> previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            CONTEXT.set(previous);
+        }
+    }
+
+    /**
+     * 在當前線程的上下文中加入一個鍵值。
+     *
+     * @param key   鍵
+     * @param value 值，為null時移除該鍵
+     */
+    public static void put(@NotNull String key, @Nullable Object value) {
+        Map<String, Object> next = new LinkedHashMap<>(CONTEXT.get());
+        if (value == null) {
+            next.remove(key);
+        } else {
+            next.put(key, value);
+        }
+        CONTEXT.set(next.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(next));
+    }
+
+    /**
+     * 從當前線程的上下文中移除一個鍵。
+     *
+     * @param key 鍵
+     */
+    public static void remove(@NotNull String key) {
+        if (CONTEXT.get().containsKey(key)) {
+            put(key, null);
+        }
+    }
+
+    /**
+     * 清除當前線程的上下文。
+     */
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+    /**
+     * 暫時加入一個鍵值，通常與try-with-resources一起使用。
+     *
+     * @param key   鍵
+     * @param value 值
+     * @return 關閉時恢復原有上下文的Scope
+     */
+    public static Scope with(@NotNull String key, @Nullable Object value) {
+        Scope scope = new Scope(CONTEXT.get());
+        put(key, value);
+        return scope;
+    }
+
+    /**
+     * 獲取當前線程的上下文。
+     *
+     * @return 不可變的上下文Map
+     */
+    @NotNull
+    public static Map<String, Object> get() {
+        return CONTEXT.get();
+    }
+}
@@ -0,0 +1,225 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.tool.enumerate.Level;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * LogEvent類保存一條日誌消息在格式化之前的內容，並傳遞給每個{@link me.axolotldev.api.interfaces.LogAppender}。
+ * 實例是可重用的，非同步模式下環形緩衝區中的每個位置都持有一個實例，只能在LogAppender的調用期間讀取。
+ * 最多兩個參數時直接保存在字段中，不需要分配參數數組。
+ *
+ * @since 2026-10-18
+ */
+public final class LogEvent {
+
+    private long timestampMicros;
+    private Level level;
+    private String loggerName;
+    private String threadName;
+    private String message;
+    private int argCount;
+    private Object arg0;
+    private Object arg1;
+    private Object[] args;
+    private Throwable error;
+    private Map<String, Object> context;
+    private long fingerprint;
+    private long occurrence;
+
+    LogEvent set(@NotNull Level level, @Nullable String loggerName, @Nullable String message, int argCount,
+                 @Nullable Object arg0, @Nullable Object arg1, @Nullable Object[] args, @Nullable Throwable error) {
+        Instant now = Instant.now();
+        this.timestampMicros = now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = Thread.currentThread().getName();
+        this.message = message;
+        this.argCount = argCount;
+        this.arg0 = arg0;
+        this.arg1 = arg1;
+        this.args = args;
+        this.error = error;
+        this.context = LogContext.get();
+        this.occurrence = 0;
+        return this;
+    }
+
+    void clear() {
+        this.message = null;
+        this.arg0 = null;
+        this.arg1 = null;
+        this.args = null;
+        this.error = null;
+        this.context = null;
+    }
+
+    /**
+     * 獲取記錄日誌的時間。
+     *
+     * @return 時間戳（毫秒）
+     */
+    public long getTimestamp() {
+        return timestampMicros / 1_000L;
+    }
+
+    /**
+     * 獲取記錄日誌的時間，精確到微秒。
+     *
+     * @return 自1970-01-01T00:00Z起的微秒數
+     */
+    public long getTimestampMicros() {
+        return timestampMicros;
+    }
+
+    /**
+     * 獲取日誌等級。
+     *
+     * @return 日誌等級
+     */
+    @NotNull
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * 獲取記錄日誌的Logger的前綴。
+     *
+     * @return 前綴，如果沒有則返回null
+     */
+    @Nullable
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * 獲取記錄日誌的線程的名稱。
+     *
+     * @return 線程名稱
+     */
+    @NotNull
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * 獲取隨日誌記錄的異常。
+     *
+     * @return 異常，如果沒有則返回null
+     */
+    @Nullable
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * 獲取記錄日誌時線程的上下文。
+     *
+     * @return 不可變的上下文Map
+     * @see LogContext
+     */
+    @NotNull
+    public Map<String, Object> getContext() {
+        return context;
+    }
+
+    /**
+     * 獲取異常的指紋，同一位置拋出的同類異常有相同的指紋。
+     *
+     * @return 指紋，沒有異常時返回0
+     */
+    public long getErrorFingerprint() {
+        return error == null ? 0L : countError();
+    }
+
+    /**
+     * 獲取此異常的指紋自上次輸出完整堆棧以來出現的次數。
+     * 每個事件只會被計數一次，無論有多少個輸出目標。
+     *
+     * @return 出現次數，1表示應輸出完整堆棧，沒有異常時返回0
+     */
+    public long getErrorOccurrence() {
+        if (error == null) {
+            return 0L;
+        }
+        countError();
+        return occurrence;
+    }
+
+    private long countError() {
+        if (occurrence == 0) {
+            fingerprint = ExceptionFormatter.fingerprint(error);
+            occurrence = ExceptionFormatter.occurrence(fingerprint, getTimestamp());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 將填入參數後的消息附加到指定的StringBuilder。
+     *
+     * @param sb 目標StringBuilder
+     */
+    public void appendMessage(@NotNull StringBuilder sb) {
+        if (message != null) {
+            LogFormatter.format(sb, message, argCount, arg0, arg1, args);
+        } else if (error != null) {
+            sb.append("Exception occurred: ").append(error.getMessage());
+        }
+    }
+
+    /**
+     * 將此事件以控制台的格式附加到指定的StringBuilder，消息中的每一行都會帶有前綴、等級和時間。
+     * 帶有異常時，首次出現的指紋會在其後附上完整的堆棧，重複出現時只附上指紋和次數。
+     *
+     * @param sb 目標StringBuilder
+     */
+    public void appendTo(@NotNull StringBuilder sb) {
+        String time = LogFormatter.time(getTimestamp());
+        StringBuilder text = LogFormatter.acquireBuilder();
+        try {
+            appendMessage(text);
+            int start = 0;
+            int end;
+            while ((end = text.indexOf("\n", start)) >= 0) {
+                appendLine(sb, time).append(text, start, end).append('\n');
+                start = end + 1;
+            }
+            if (start < text.length() || start == 0) {
+                appendLine(sb, time).append(text, start, text.length()).append('\n');
+            }
+        } finally {
+            LogFormatter.releaseBuilder(text);
+        }
+        if (error != null) {
+            // The trace is written as one block in the standard format, so only the header carries the prefix.
+            long repeat = getErrorOccurrence();
+            sb.setLength(sb.length() - 1);
+            ExceptionFormatter.appendFingerprint(sb.append(" [trace "), fingerprint);
+            if (repeat > 1) {
+                sb.append(", seen ").append(repeat).append(" times, stack trace omitted]\n");
+            } else {
+                sb.append("]\n");
+                ExceptionFormatter.appendTrace(sb, error);
+            }
+        }
+    }
+
+    /**
+     * 此事件是否應寫入標準錯誤輸出。
+     *
+     * @return 是否帶有異常
+     */
+    boolean isError() {
+        return error != null;
+    }
+
+    private StringBuilder appendLine(StringBuilder sb, String time) {
+        if (loggerName != null) {
+            sb.append('[').append(loggerName).append("] ");
+        }
+        return sb.append('[').append(level.name()).append("] [").append(time).append("] ");
+    }
+}
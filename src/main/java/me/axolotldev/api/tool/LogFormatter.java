@@ -0,0 +1,175 @@
+package me.axolotldev.api.tool;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+
+/**
+ * LogFormatter類提供日誌格式化時共用的工具方法：以{}佔位符填入參數、緩存每秒的時間戳，以及線程本地的可重用StringBuilder。
+ * 常見的參數類型會直接附加到StringBuilder，不會產生中間的字符串。
+ *
+ * @since 2026-10-18
+ */
+final class LogFormatter {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+    private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+    // The slot is empty while its builder is in use, so a nested log call on the same thread gets a fresh one.
+    private static final ThreadLocal<StringBuilder[]> MESSAGE = ThreadLocal.withInitial(() -> new StringBuilder[]{new StringBuilder(256)});
+
+    private static volatile CachedTime cachedTime = new CachedTime(Long.MIN_VALUE, "");
+
+    private LogFormatter() {
+    }
+
+    private record CachedTime(long second, String text) {
+    }
+
+    /**
+     * 獲取指定時間格式化後的文本，同一秒內的調用返回同一個字符串。
+     *
+     * @param millis 時間戳（毫秒）
+     * @return 格式化後的時間
+     */
+    static String time(long millis) {
+        long second = Math.floorDiv(millis, 1000L);
+        CachedTime cached = cachedTime;
+        if (cached.second() != second) {
+            cached = new CachedTime(second, TIME_FORMAT.format(Instant.ofEpochSecond(second)));
+            cachedTime = cached;
+        }
+        return cached.text();
+    }
+
+    /**
+     * 借用當前線程用於格式化消息的StringBuilder，已被清空，用完後必須以{@link #releaseBuilder(StringBuilder)}歸還。
+     * 參數的toString()可能再次記錄日誌，在歸還之前的再次借用會得到一個新的StringBuilder。
+     *
+     * @return 可重用的StringBuilder
+     */
+    static StringBuilder acquireBuilder() {
+        StringBuilder[] slot = MESSAGE.get();
+        StringBuilder sb = slot[0];
+        if (sb == null) {
+            return new StringBuilder(256);
+        }
+        slot[0] = null;
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * 歸還以{@link #acquireBuilder()}借用的StringBuilder。
+     *
+     * @param sb 借用的StringBuilder
+     */
+    static void releaseBuilder(@NotNull StringBuilder sb) {
+        StringBuilder[] slot = MESSAGE.get();
+        if (slot[0] == null) {
+            // Do not keep a huge buffer alive on every thread after one oversized message.
+            slot[0] = sb.capacity() > MAX_RETAINED_CAPACITY ? new StringBuilder(256) : sb;
+        }
+    }
+
+    /**
+     * 將消息與參數格式化後附加到StringBuilder。
+     * 消息中的每個{}依次被下一個參數替換，\{}會輸出字面的{}。
+     * 消息中沒有{}但含有%時，會以{@link String#format(String, Object...)}格式化，以兼容舊的調用方式。
+     *
+     * @param sb       目標StringBuilder
+     * @param pattern  消息
+     * @param argCount 參數數量，-1表示使用args數組
+     * @param arg0     第一個參數
+     * @param arg1     第二個參數
+     * @param args     參數數組
+     */
+    static void format(@NotNull StringBuilder sb, @NotNull String pattern, int argCount,
+                       @Nullable Object arg0, @Nullable Object arg1, @Nullable Object[] args) {
+        int count = argCount < 0 ? (args == null ? 0 : args.length) : argCount;
+        if (count == 0) {
+            sb.append(pattern);
+            return;
+        }
+        if (pattern.indexOf("{}") < 0 && pattern.indexOf('%') >= 0) {
+            Object[] all = argCount < 0 ? args : argCount == 1 ? new Object[]{arg0} : new Object[]{arg0, arg1};
+            try {
+                sb.append(String.format(pattern, all));
+            } catch (IllegalFormatException e) {
+                sb.append(pattern).append(' ').append(Arrays.deepToString(all));
+            }
+            return;
+        }
+        int used = 0;
+        int start = 0;
+        int index;
+        while (used < count && (index = pattern.indexOf("{}", start)) >= 0) {
+            if (index > 0 && pattern.charAt(index - 1) == '\\') {
+                sb.append(pattern, start, index - 1).append("{}");
+                start = index + 2;
+                continue;
+            }
+            sb.append(pattern, start, index);
+            appendValue(sb, argCount < 0 ? args[used] : used == 0 ? arg0 : arg1);
+            used++;
+            start = index + 2;
+        }
+        sb.append(pattern, start, pattern.length());
+    }
+
+    /**
+     * 將一個值附加到StringBuilder，數字和字符等類型直接附加而不轉換成字符串。
+     *
+     * @param sb    目標StringBuilder
+     * @param value 要附加的值
+     */
+    static void appendValue(@NotNull StringBuilder sb, @Nullable Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof CharSequence text) {
+            sb.append(text);
+        } else if (value instanceof Integer number) {
+            sb.append(number.intValue());
+        } else if (value instanceof Long number) {
+            sb.append(number.longValue());
+        } else if (value instanceof Double number) {
+            sb.append(number.doubleValue());
+        } else if (value instanceof Float number) {
+            sb.append(number.floatValue());
+        } else if (value instanceof Boolean bool) {
+            sb.append(bool.booleanValue());
+        } else if (value instanceof Character character) {
+            sb.append(character.charValue());
+        } else if (value instanceof Object[] array) {
+            sb.append(Arrays.deepToString(array));
+        } else if (value.getClass().isArray()) {
+            sb.append(primitiveArrayToString(value));
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static String primitiveArrayToString(Object array) {
+        if (array instanceof int[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof long[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof byte[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof double[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof float[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof short[] a) {
+            return Arrays.toString(a);
+        } else if (array instanceof char[] a) {
+            return Arrays.toString(a);
+        }
+        return Arrays.toString((boolean[]) array);
+    }
+}
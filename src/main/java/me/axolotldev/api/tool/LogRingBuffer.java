@@ -0,0 +1,117 @@
+package me.axolotldev.api.tool;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LogRingBuffer類是一個有界、無鎖的多生產者單消費者環形緩衝區，每個位置預先分配一個{@link LogEvent}。
+ * 生產者以CAS佔用位置、填寫事件後發布；消費者按順序讀取已發布的位置並將其歸還。
+ * 每個位置的序號表示它當前的狀態：等於位置時可被佔用，等於位置加一時已發布，可被消費。
+ *
+ * @since 2026-10-18
+ */
+final class LogRingBuffer {
+
+    private final LogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    LogRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2.");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.events = new LogEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            events[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 嘗試佔用下一個位置。
+     *
+     * @return 佔用的位置，如果緩衝區已滿則返回-1
+     */
+    long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            long diff = sequences.get((int) position & mask) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 獲取已佔用位置上的事件，以便生產者填寫。
+     *
+     * @param position 由{@link #tryClaim()}返回的位置
+     * @return 該位置的事件
+     */
+    LogEvent get(long position) {
+        return events[(int) position & mask];
+    }
+
+    /**
+     * 發布已填寫的位置，使消費者可以讀取。
+     *
+     * @param position 由{@link #tryClaim()}返回的位置
+     */
+    void publish(long position) {
+        sequences.set((int) position & mask, position + 1);
+    }
+
+    /**
+     * 獲取下一個已發布的事件，只能由消費線程調用。
+     *
+     * @return 下一個事件，如果尚未發布則返回null
+     */
+    @Nullable
+    LogEvent peek() {
+        long position = head;
+        return sequences.get((int) position & mask) == position + 1 ? events[(int) position & mask] : null;
+    }
+
+    /**
+     * 歸還{@link #peek()}返回的事件所在的位置，只能由消費線程調用。
+     */
+    void release() {
+        long position = head;
+        int index = (int) position & mask;
+        events[index].clear();
+        sequences.set(index, position + events.length);
+        head = position + 1;
+    }
+
+    /**
+     * 獲取已被佔用的位置總數。
+     *
+     * @return 佔用的總數
+     */
+    long getTail() {
+        return tail.get();
+    }
+
+    /**
+     * 獲取已被消費的位置總數。
+     *
+     * @return 消費的總數
+     */
+    long getHead() {
+        return head;
+    }
+}
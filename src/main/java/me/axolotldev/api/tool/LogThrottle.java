@@ -0,0 +1,178 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.tool.enumerate.Level;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LogThrottle類對一個Logger的每個調用點分別進行限流和抽樣，並定期輸出被抑制的消息數量。
+ * 調用點以消息模板、Supplier的類或異常的類區分，不需要遍歷堆棧。
+ * <p>
+ * 限流使用令牌桶，以GCRA的形式保存在每個調用點的一個AtomicLong中：被拒絕的調用只需讀取一次，
+ * 被接受的調用只需一次CAS，整個檢查過程都不需要加鎖。
+ *
+ * @since 2026-10-18
+ */
+final class LogThrottle {
+
+    private static final int MAX_SITES = 1024;
+    private static final Object OVERFLOW = new Object();
+    private static final ScheduledExecutorService SUMMARY = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DevTool-LogSummary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Logger owner;
+    private final ConcurrentHashMap<Object, Site> sites = new ConcurrentHashMap<>();
+    private volatile long intervalNanos = 0;
+    private volatile long burstNanos = 0;
+    private volatile double sampleRate = 1.0;
+    private long summaryInterval;
+    private ScheduledFuture<?> summaryTask;
+
+    private static final class Site {
+
+        private final Level level;
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+        // Suppressed calls are the hot path during a flood, so they are counted without a shared CAS.
+        private final LongAdder suppressed = new LongAdder();
+        private volatile String description;
+
+        private Site(Level level, String description) {
+            this.level = level;
+            this.description = description;
+        }
+
+        private boolean acquire(long interval, long burst) {
+            long now = System.nanoTime();
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + interval;
+                if (next - now > burst) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    LogThrottle(@NotNull Logger owner, long summaryInterval) {
+        this.owner = owner;
+        this.summaryInterval = summaryInterval;
+        schedule();
+    }
+
+    /**
+     * 設置每個調用點的速率限制。
+     *
+     * @param perSecond 每秒允許的消息數，0或以下表示不限制
+     * @param burst     允許連續通過的消息數
+     */
+    void setRateLimit(double perSecond, int burst) {
+        if (perSecond <= 0) {
+            intervalNanos = 0;
+            burstNanos = 0;
+        } else {
+            long interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+            burstNanos = interval * Math.max(1, burst);
+            intervalNanos = interval;
+        }
+    }
+
+    void setSampleRate(double rate) {
+        this.sampleRate = rate;
+    }
+
+    synchronized void setSummaryInterval(long millis) {
+        this.summaryInterval = millis;
+        schedule();
+    }
+
+    /**
+     * 是否有任何限制生效，沒有時Logger可以丟棄此LogThrottle。
+     *
+     * @return 是否有限流或抽樣
+     */
+    boolean isActive() {
+        return intervalNanos > 0 || sampleRate < 1.0;
+    }
+
+    /**
+     * 檢查一條消息是否可以輸出，不能輸出時計入該調用點被抑制的數量。
+     *
+     * @param key         調用點的標識
+     * @param level       消息的等級
+     * @param description 在摘要中描述調用點的文本，為null時在消息生成後以{@link #describe(Object, String)}補上
+     * @return 是否可以輸出
+     */
+    boolean tryAcquire(@NotNull Object key, @NotNull Level level, String description) {
+        long interval = intervalNanos;
+        double rate = sampleRate;
+        if (interval <= 0 && rate >= 1.0) {
+            return true;
+        }
+        Site site = sites.get(key);
+        if (site == null) {
+            site = register(key, level, description);
+        }
+        if ((rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate)
+                || (interval > 0 && !site.acquire(interval, burstNanos))) {
+            site.suppressed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    void describe(@NotNull Object key, @NotNull String text) {
+        Site site = sites.get(key);
+        if (site != null && site.description == null) {
+            site.description = text;
+        }
+    }
+
+    /**
+     * 輸出所有調用點被抑制的數量，並停止定期輸出。
+     */
+    synchronized void close() {
+        if (summaryTask != null) {
+            summaryTask.cancel(false);
+            summaryTask = null;
+        }
+        summarize();
+    }
+
+    private Site register(Object key, Level level, String description) {
+        if (sites.size() >= MAX_SITES && !sites.containsKey(key)) {
+            // Messages built by concatenation would otherwise add a site per distinct text.
+            return sites.computeIfAbsent(OVERFLOW, k -> new Site(level, "(other messages)"));
+        }
+        return sites.computeIfAbsent(key, k -> new Site(level, description));
+    }
+
+    private void schedule() {
+        if (summaryTask != null) {
+            summaryTask.cancel(false);
+        }
+        summaryTask = SUMMARY.scheduleAtFixedRate(this::summarize, summaryInterval, summaryInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void summarize() {
+        for (Site site : sites.values()) {
+            long count = site.suppressed.sumThenReset();
+            if (count > 0) {
+                owner.summary(site.level, count, site.description == null ? "(unknown)" : site.description);
+            }
+        }
+    }
+}
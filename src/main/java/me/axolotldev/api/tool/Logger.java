@@ -1,20 +1,51 @@
 package me.axolotldev.api.tool;
 
+import me.axolotldev.api.interfaces.LogAppender;
+import me.axolotldev.api.tool.enumerate.AsyncOverflow;
+import me.axolotldev.api.tool.enumerate.Level;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Logger類別提供不同日誌等級的日誌功能。
+ * <p>
+ * 日誌會寫入每一個{@link LogAppender}，默認只有控制台，可通過{@link #addAppender(LogAppender)}添加文件等其他輸出目標。
+ * 默認情況下日誌在調用線程上同步寫入。調用{@link #enableAsync(int, AsyncOverflow)}後，
+ * 所有Logger都會將日誌放入一個無鎖的環形緩衝區，由單一的背景線程格式化並成批寫入，調用者不會因輸出I/O而阻塞。
+ * <p>
+ * 等級檢查在任何格式化之前進行。消息中的{}會依次被參數替換；沒有{}但含有%時，會以{@link String#format(String, Object...)}格式化。
+ * 一個或兩個參數的重載不需要分配參數數組，{@link Supplier}重載只在等級啟用時才生成消息。
+ * 同步寫入時每個線程重用同一個LogEvent，但讀取時間戳和輸出目標本身仍可能分配少量內存，完全不分配內存的只有被等級過濾的調用和非同步模式。
+ * <p>
+ * 可通過{@link #setRateLimit(double, int)}和{@link #setSampleRate(double)}限制每個調用點的輸出，
+ * 被丟棄的消息數量會定期以一條摘要輸出。
  *
  * @since 2024-02-08
  */
 public final class Logger {
 
+    @Nullable
+    private static volatile AsyncLogDispatcher dispatcher;
+    @NotNull
+    private static volatile Level defaultLevel = Level.INFO;
+
+    @NotNull
+    private static volatile LogAppender[] appenders = {new ConsoleAppender()};
+    // One reusable event per thread for synchronous writes; the slot is empty while the event is in use.
+    private static final ThreadLocal<LogEvent[]> syncEvent = ThreadLocal.withInitial(() -> new LogEvent[]{new LogEvent()});
+
     @Nullable
     private final String prefix;
+    @Nullable
+    private volatile Level level;
+    @Nullable
+    private volatile LogThrottle throttle;
+    private long summaryInterval = 10_000;
 
     /**
      * 使用無前綴構造一個Logger。
@@ -29,7 +60,216 @@ public final class Logger {
      * @param prefix 要添加到日誌消息前面的前綴。
      */
     public Logger(@Nullable String prefix) {
-        this.prefix = prefix == null ? null : String.format("[%s] ", prefix);
+        this.prefix = prefix;
+    }
+
+    /**
+     * 添加一個輸出目標，所有Logger的日誌都會寫入每一個輸出目標。
+     *
+     * @param appender 輸出目標
+     */
+    public static synchronized void addAppender(@NotNull LogAppender appender) {
+        LogAppender[] next = Arrays.copyOf(appenders, appenders.length + 1);
+        next[appenders.length] = appender;
+        appenders = next;
+    }
+
+    /**
+     * 移除一個輸出目標。移除前會先寫完已記錄的日誌，但不會關閉該輸出目標。
+     *
+     * @param appender 輸出目標
+     * @return 是否找到並移除
+     */
+    public static synchronized boolean removeAppender(@NotNull LogAppender appender) {
+        List<LogAppender> next = new ArrayList<>(Arrays.asList(appenders));
+        if (!next.remove(appender)) {
+            return false;
+        }
+        flush();
+        appenders = next.toArray(new LogAppender[0]);
+        appender.flush();
+        return true;
+    }
+
+    /**
+     * 獲取當前的輸出目標，默認只有一個{@link ConsoleAppender}。
+     *
+     * @return 輸出目標的列表
+     */
+    public static List<LogAppender> getAppenders() {
+        return List.of(appenders);
+    }
+
+    static LogAppender[] appenders() {
+        return appenders;
+    }
+
+    /**
+     * 將一個事件寫入所有輸出目標，單個輸出目標的錯誤不會影響其他目標。
+     */
+    static void write(@NotNull LogEvent event, @NotNull LogAppender[] targets) {
+        for (LogAppender appender : targets) {
+            try {
+                appender.append(event);
+            } catch (RuntimeException e) {
+                System.err.printf("[Logger] %s failed: %s%n", appender, e);
+            }
+        }
+    }
+
+    static void flush(@NotNull LogAppender[] targets) {
+        for (LogAppender appender : targets) {
+            try {
+                appender.flush();
+            } catch (RuntimeException e) {
+                System.err.printf("[Logger] %s failed: %s%n", appender, e);
+            }
+        }
+    }
+
+    /**
+     * 設置未單獨設置等級的Logger所使用的等級，默認為{@link Level#INFO}。
+     *
+     * @param level 日誌等級
+     */
+    public static void setDefaultLevel(@NotNull Level level) {
+        defaultLevel = level;
+    }
+
+    /**
+     * 設置此Logger的等級，設置為null時使用默認等級。
+     *
+     * @param level 日誌等級
+     * @return 此Logger以便方法鏈接
+     */
+    public Logger setLevel(@Nullable Level level) {
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * 獲取此Logger當前生效的等級。
+     *
+     * @return 日誌等級
+     */
+    @NotNull
+    public Level getLevel() {
+        Level current = level;
+        return current != null ? current : defaultLevel;
+    }
+
+    /**
+     * 指定等級的日誌是否會被記錄。在構建昂貴的消息之前可先以此檢查。
+     *
+     * @param level 日誌等級
+     * @return 是否啟用
+     */
+    public boolean isEnabled(@NotNull Level level) {
+        return level.ordinal() >= getLevel().ordinal();
+    }
+
+    /**
+     * 啟用非同步模式。如果已經啟用，會先寫完並停止原有的緩衝區。
+     * 可變的參數（例如集合或實體）會在調用線程上先轉換為字符串，因此日誌反映的是調用時的狀態。
+     *
+     * @param capacity 環形緩衝區可容納的日誌數量，會向上取整到2的冪
+     * @param policy   緩衝區已滿時的處理方式
+     */
+    public static synchronized void enableAsync(int capacity, @NotNull AsyncOverflow policy) {
+        AsyncLogDispatcher previous = dispatcher;
+        dispatcher = new AsyncLogDispatcher(capacity, policy);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 停用非同步模式，寫完緩衝區中的所有日誌後返回。
+     */
+    public static synchronized void disableAsync() {
+        AsyncLogDispatcher previous = dispatcher;
+        dispatcher = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 是否已啟用非同步模式。
+     *
+     * @return 是否非同步
+     */
+    public static boolean isAsync() {
+        return dispatcher != null;
+    }
+
+    /**
+     * 等待在調用之前記錄的所有日誌都已寫入輸出目標。同步模式下會立即返回。
+     */
+    public static void flush() {
+        AsyncLogDispatcher current = dispatcher;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /**
+     * 記錄一條調試消息。
+     *
+     * @param message 要記錄的消息。
+     */
+    public void debug(@NotNull String message) {
+        if (isEnabled(Level.DEBUG) && admit(message, Level.DEBUG, message)) {
+            dispatch(Level.DEBUG, message, 0, null, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶一個參數的調試消息。
+     *
+     * @param message 消息，其中的{}會被參數替換。
+     * @param arg     參數。
+     */
+    public void debug(@NotNull String message, @Nullable Object arg) {
+        if (isEnabled(Level.DEBUG) && admit(message, Level.DEBUG, message)) {
+            dispatch(Level.DEBUG, message, 1, arg, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶兩個參數的調試消息。
+     *
+     * @param message 消息，其中的{}會依次被參數替換。
+     * @param arg0    第一個參數。
+     * @param arg1    第二個參數。
+     */
+    public void debug(@NotNull String message, @Nullable Object arg0, @Nullable Object arg1) {
+        if (isEnabled(Level.DEBUG) && admit(message, Level.DEBUG, message)) {
+            dispatch(Level.DEBUG, message, 2, arg0, arg1, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條格式化的調試消息。
+     *
+     * @param message 格式化字符串。
+     * @param args    格式字符串中格式化符號所引用的參數。
+     */
+    public void debug(@NotNull String message, @NotNull Object... args) {
+        if (isEnabled(Level.DEBUG) && admit(message, Level.DEBUG, message)) {
+            dispatch(Level.DEBUG, message, -1, null, null, args, null);
+        }
+    }
+
+    /**
+     * 記錄一條延遲生成的調試消息，只在等級啟用時才調用Supplier。
+     *
+     * @param message 生成消息的Supplier。
+     */
+    public void debug(@NotNull Supplier<String> message) {
+        if (isEnabled(Level.DEBUG) && admit(message.getClass(), Level.DEBUG, null)) {
+            dispatch(Level.DEBUG, describe(message.getClass(), message.get()), 0, null, null, null, null);
+        }
     }
 
     /**
@@ -38,7 +278,34 @@ public final class Logger {
      * @param message 要記錄的消息。
      */
     public void info(@NotNull String message) {
-        log("INFO", message);
+        if (isEnabled(Level.INFO) && admit(message, Level.INFO, message)) {
+            dispatch(Level.INFO, message, 0, null, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶一個參數的信息消息。
+     *
+     * @param message 消息，其中的{}會被參數替換。
+     * @param arg     參數。
+     */
+    public void info(@NotNull String message, @Nullable Object arg) {
+        if (isEnabled(Level.INFO) && admit(message, Level.INFO, message)) {
+            dispatch(Level.INFO, message, 1, arg, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶兩個參數的信息消息。
+     *
+     * @param message 消息，其中的{}會依次被參數替換。
+     * @param arg0    第一個參數。
+     * @param arg1    第二個參數。
+     */
+    public void info(@NotNull String message, @Nullable Object arg0, @Nullable Object arg1) {
+        if (isEnabled(Level.INFO) && admit(message, Level.INFO, message)) {
+            dispatch(Level.INFO, message, 2, arg0, arg1, null, null);
+        }
     }
 
     /**
@@ -48,7 +315,20 @@ public final class Logger {
      * @param args    格式字符串中格式化符號所引用的參數。
      */
     public void info(@NotNull String message, @NotNull Object... args) {
-        log("INFO", message, args);
+        if (isEnabled(Level.INFO) && admit(message, Level.INFO, message)) {
+            dispatch(Level.INFO, message, -1, null, null, args, null);
+        }
+    }
+
+    /**
+     * 記錄一條延遲生成的信息消息，只在等級啟用時才調用Supplier。
+     *
+     * @param message 生成消息的Supplier。
+     */
+    public void info(@NotNull Supplier<String> message) {
+        if (isEnabled(Level.INFO) && admit(message.getClass(), Level.INFO, null)) {
+            dispatch(Level.INFO, describe(message.getClass(), message.get()), 0, null, null, null, null);
+        }
     }
 
     /**
@@ -57,7 +337,34 @@ public final class Logger {
      * @param message 要記錄的消息。
      */
     public void warning(@NotNull String message) {
-        log("WARNING", message);
+        if (isEnabled(Level.WARNING) && admit(message, Level.WARNING, message)) {
+            dispatch(Level.WARNING, message, 0, null, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶一個參數的警告消息。
+     *
+     * @param message 消息，其中的{}會被參數替換。
+     * @param arg     參數。
+     */
+    public void warning(@NotNull String message, @Nullable Object arg) {
+        if (isEnabled(Level.WARNING) && admit(message, Level.WARNING, message)) {
+            dispatch(Level.WARNING, message, 1, arg, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶兩個參數的警告消息。
+     *
+     * @param message 消息，其中的{}會依次被參數替換。
+     * @param arg0    第一個參數。
+     * @param arg1    第二個參數。
+     */
+    public void warning(@NotNull String message, @Nullable Object arg0, @Nullable Object arg1) {
+        if (isEnabled(Level.WARNING) && admit(message, Level.WARNING, message)) {
+            dispatch(Level.WARNING, message, 2, arg0, arg1, null, null);
+        }
     }
 
     /**
@@ -67,7 +374,20 @@ public final class Logger {
      * @param args    格式字符串中格式化符號所引用的參數。
      */
     public void warning(@NotNull String message, @NotNull Object... args) {
-        log("WARNING", message, args);
+        if (isEnabled(Level.WARNING) && admit(message, Level.WARNING, message)) {
+            dispatch(Level.WARNING, message, -1, null, null, args, null);
+        }
+    }
+
+    /**
+     * 記錄一條延遲生成的警告消息，只在等級啟用時才調用Supplier。
+     *
+     * @param message 生成消息的Supplier。
+     */
+    public void warning(@NotNull Supplier<String> message) {
+        if (isEnabled(Level.WARNING) && admit(message.getClass(), Level.WARNING, null)) {
+            dispatch(Level.WARNING, describe(message.getClass(), message.get()), 0, null, null, null, null);
+        }
     }
 
     /**
@@ -76,7 +396,34 @@ public final class Logger {
      * @param message 要記錄的消息。
      */
     public void severe(@NotNull String message) {
-        log("SEVERE", message);
+        if (isEnabled(Level.SEVERE) && admit(message, Level.SEVERE, message)) {
+            dispatch(Level.SEVERE, message, 0, null, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶一個參數的嚴重消息。
+     *
+     * @param message 消息，其中的{}會被參數替換。
+     * @param arg     參數。
+     */
+    public void severe(@NotNull String message, @Nullable Object arg) {
+        if (isEnabled(Level.SEVERE) && admit(message, Level.SEVERE, message)) {
+            dispatch(Level.SEVERE, message, 1, arg, null, null, null);
+        }
+    }
+
+    /**
+     * 記錄一條帶兩個參數的嚴重消息。
+     *
+     * @param message 消息，其中的{}會依次被參數替換。
+     * @param arg0    第一個參數。
+     * @param arg1    第二個參數。
+     */
+    public void severe(@NotNull String message, @Nullable Object arg0, @Nullable Object arg1) {
+        if (isEnabled(Level.SEVERE) && admit(message, Level.SEVERE, message)) {
+            dispatch(Level.SEVERE, message, 2, arg0, arg1, null, null);
+        }
     }
 
     /**
@@ -86,42 +433,148 @@ public final class Logger {
      * @param args    格式字符串中格式化符號所引用的參數。
      */
     public void severe(@NotNull String message, @NotNull Object... args) {
-        log("SEVERE", message, args);
+        if (isEnabled(Level.SEVERE) && admit(message, Level.SEVERE, message)) {
+            dispatch(Level.SEVERE, message, -1, null, null, args, null);
+        }
+    }
+
+    /**
+     * 記錄一條延遲生成的嚴重消息，只在等級啟用時才調用Supplier。
+     *
+     * @param message 生成消息的Supplier。
+     */
+    public void severe(@NotNull Supplier<String> message) {
+        if (isEnabled(Level.SEVERE) && admit(message.getClass(), Level.SEVERE, null)) {
+            dispatch(Level.SEVERE, describe(message.getClass(), message.get()), 0, null, null, null, null);
+        }
     }
 
     /**
      * 記錄一個嚴重消息和異常。
+     * 完整的堆棧（包括cause鏈和被抑制的異常）會作為一個整體寫出；
+     * 相同堆棧在短時間內重複出現時，只寫出其指紋和出現次數。
      *
      * @param exception 要記錄的異常。
      */
     public void severe(@NotNull Exception exception) {
-        logException(exception);
+        if (isEnabled(Level.SEVERE) && admit(exception.getClass(), Level.SEVERE, exception.getClass().getName())) {
+            dispatch(Level.SEVERE, null, 0, null, null, null, exception);
+        }
     }
 
-    private void log(@NotNull String level, @NotNull String message) {
-        for (String s : message.split("\n")) {
-            System.out.printf("%s[%s] [%s] %s\n", prefix, level, getTime(), s);
+    /**
+     * 為此Logger的每個調用點設置速率限制。同一消息模板、同一個Supplier或同一種異常視為同一個調用點，
+     * 超出限制的消息會被丟棄，並在之後的摘要中計數。
+     *
+     * @param perSecond 每個調用點每秒允許的消息數，0或以下表示不限制
+     * @param burst     每個調用點允許連續通過的消息數
+     * @return 此Logger以便方法鏈接
+     */
+    public Logger setRateLimit(double perSecond, int burst) {
+        synchronized (this) {
+            throttle().setRateLimit(perSecond, burst);
+            releaseThrottle();
         }
+        return this;
     }
 
-    private void log(@NotNull String level, @NotNull String message, @NotNull Object... args) {
-        message = String.format(message, args);
-        for (String s : message.split("\n")) {
-            System.out.printf("%s[%s] [%s] %s\n", prefix, level, getTime(), s);
+    /**
+     * 設置此Logger的抽樣比例，每條消息以該概率被輸出，其餘的在之後的摘要中計數。
+     *
+     * @param rate 輸出的概率，1表示全部輸出
+     * @return 此Logger以便方法鏈接
+     * @throws IllegalArgumentException 如果比例不在0到1之間
+     */
+    public Logger setSampleRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1.");
+        }
+        synchronized (this) {
+            throttle().setSampleRate(rate);
+            releaseThrottle();
+        }
+        return this;
+    }
+
+    /**
+     * 設置輸出被抑制消息數量摘要的間隔，默認為10秒。沒有限流或抽樣時只保存此設置。
+     *
+     * @param millis 間隔（毫秒）
+     * @return 此Logger以便方法鏈接
+     * @throws IllegalArgumentException 如果間隔不大於0
+     */
+    public Logger setSummaryInterval(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Summary interval must be positive.");
         }
+        synchronized (this) {
+            summaryInterval = millis;
+            LogThrottle current = throttle;
+            if (current != null) {
+                current.setSummaryInterval(millis);
+            }
+        }
+        return this;
     }
 
-    private void logException(@NotNull Exception exception) {
-        System.err.printf("%s[SEVERE] [%s] Exception occurred: %s\n", prefix, getTime(), exception.getMessage());
-        for (StackTraceElement element : exception.getStackTrace()) {
-            System.err.printf("%s[SEVERE] [%s] %s\n", prefix, getTime(), element);
+    private LogThrottle throttle() {
+        LogThrottle current = throttle;
+        if (current == null) {
+            current = new LogThrottle(this, summaryInterval);
+            throttle = current;
         }
+        return current;
     }
 
-    @NotNull
-    private String getTime() {
-        LocalDateTime currentDateTime = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        return currentDateTime.format(formatter);
+    private void releaseThrottle() {
+        LogThrottle current = throttle;
+        if (current != null && !current.isActive()) {
+            throttle = null;
+            current.close();
+        }
+    }
+
+    private boolean admit(@NotNull Object key, @NotNull Level level, @Nullable String description) {
+        LogThrottle current = throttle;
+        return current == null || current.tryAcquire(key, level, description);
+    }
+
+    private String describe(@NotNull Object key, @NotNull String text) {
+        LogThrottle current = throttle;
+        if (current != null) {
+            current.describe(key, text);
+        }
+        return text;
+    }
+
+    void summary(@NotNull Level level, long count, @NotNull String description) {
+        dispatch(level, "Suppressed {} similar messages: {}", 2, count, description, null, null);
+    }
+
+    private void dispatch(@NotNull Level level, @Nullable String message, int argCount, @Nullable Object arg0,
+                          @Nullable Object arg1, @Nullable Object[] args, @Nullable Throwable error) {
+        AsyncLogDispatcher current = dispatcher;
+        if (current != null && current.publish(level, prefix, message, argCount, arg0, arg1, args, error)) {
+            return;
+        }
+        LogAppender[] targets = appenders;
+        LogEvent[] slot = syncEvent.get();
+        LogEvent event = slot[0];
+        // An appender or an argument's toString() may log again while the thread's event is being written.
+        boolean reused = event != null;
+        if (reused) {
+            slot[0] = null;
+        } else {
+            event = new LogEvent();
+        }
+        try {
+            write(event.set(level, prefix, message, argCount, arg0, arg1, args, error), targets);
+            flush(targets);
+        } finally {
+            if (reused) {
+                event.clear();
+                slot[0] = event;
+            }
+        }
     }
 }
@@ -0,0 +1,332 @@
+package me.axolotldev.api.tool;
+
+import me.axolotldev.api.interfaces.LogAppender;
+import me.axolotldev.api.interfaces.LogLayout;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RollingFileAppender類將日誌以UTF-8寫入文件，並在文件達到指定大小或跨越指定的時間間隔時輪替。
+ * 日誌先編碼到一個直接緩衝區，在緩衝區已滿或{@link #flush()}時才通過FileChannel寫入。
+ * <p>
+ * 輪替時當前文件會被重命名為{@code 名稱-日期-序號.擴展名}，並立即打開一個新的文件。
+ * 壓縮和清理舊文件都在一個共用的背景線程上進行，記錄日誌的線程不會等待它們。
+ * 時間間隔以本地時區對齊，例如一天的間隔會在每天午夜輪替。
+ *
+ * @since 2026-10-18
+ */
+public final class RollingFileAppender implements LogAppender {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd")
+            .withZone(ZoneId.systemDefault());
+    private static final ExecutorService ARCHIVER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DevTool-LogArchiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path file;
+    private final String baseName;
+    private final String extension;
+    private final Pattern archiveName;
+    private final StringBuilder text = new StringBuilder(1024);
+    private boolean formatting = false;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private LogLayout layout = LogLayout.TEXT;
+    private long maxFileSize = 0;
+    private long rolloverInterval = 0;
+    private boolean compress = true;
+    private int maxHistory = 0;
+    private FileChannel channel;
+    private long written;
+    private long periodStart;
+    private long nextRollover = Long.MAX_VALUE;
+    private boolean failing = false;
+
+    /**
+     * 創建一個寫入指定文件的RollingFileAppender，文件已存在時會在其末尾繼續寫入。
+     *
+     * @param file 日誌文件
+     * @throws RuntimeException 如果無法創建目錄或打開文件
+     */
+    public RollingFileAppender(@NotNull File file) {
+        this.file = file.toPath().toAbsolutePath();
+        String name = this.file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.baseName = dot > 0 ? name.substring(0, dot) : name;
+        this.extension = dot > 0 ? name.substring(dot) : "";
+        // Only files rotated from this log, so another log such as app-debug.log next to app.log is never pruned.
+        this.archiveName = Pattern.compile(Pattern.quote(baseName) + "-(\\d{4}-\\d{2}-\\d{2})-(\\d{1,18})"
+                + Pattern.quote(extension) + "(\\.gz)?");
+        try {
+            open(System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Cannot open log file \"%s\"", file), e);
+        }
+    }
+
+    /**
+     * 設置日誌的格式，默認為{@link LogLayout#TEXT}。
+     *
+     * @param layout 日誌格式
+     * @return 此RollingFileAppender以便方法鏈接
+     */
+    public synchronized RollingFileAppender setLayout(@NotNull LogLayout layout) {
+        this.layout = layout;
+        return this;
+    }
+
+    /**
+     * 設置文件大小上限，寫入下一條日誌會超過上限時先輪替。
+     *
+     * @param bytes 文件大小上限（字節），0表示不按大小輪替
+     * @return 此RollingFileAppender以便方法鏈接
+     */
+    public synchronized RollingFileAppender setMaxFileSize(long bytes) {
+        this.maxFileSize = bytes;
+        return this;
+    }
+
+    /**
+     * 設置按時間輪替的間隔，間隔以本地時區對齊。
+     *
+     * @param millis 間隔（毫秒），0表示不按時間輪替
+     * @return 此RollingFileAppender以便方法鏈接
+     */
+    public synchronized RollingFileAppender setRolloverInterval(long millis) {
+        this.rolloverInterval = millis;
+        this.nextRollover = millis > 0 ? boundaryAfter(periodStart) : Long.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * 設置是否以gzip壓縮輪替後的文件，默認為壓縮。
+     *
+     * @param compress 是否壓縮
+     * @return 此RollingFileAppender以便方法鏈接
+     */
+    public synchronized RollingFileAppender setCompress(boolean compress) {
+        this.compress = compress;
+        return this;
+    }
+
+    /**
+     * 設置保留的輪替文件數量，較舊的文件會在輪替後被刪除。
+     *
+     * @param files 保留的文件數量，0表示全部保留
+     * @return 此RollingFileAppender以便方法鏈接
+     */
+    public synchronized RollingFileAppender setMaxHistory(int files) {
+        this.maxHistory = files;
+        return this;
+    }
+
+    /**
+     * 獲取正在寫入的文件。
+     *
+     * @return 日誌文件
+     */
+    public File getFile() {
+        return file.toFile();
+    }
+
+    @Override
+    public synchronized void append(@NotNull LogEvent event) {
+        // An argument's toString() may log again on this thread while the line is formatted,
+        // so a nested call formats into its own builder instead of clearing the outer one.
+        boolean nested = formatting;
+        StringBuilder text = nested ? new StringBuilder(256) : this.text;
+        formatting = true;
+        try {
+            text.setLength(0);
+            layout.format(event, text);
+        } finally {
+            formatting = nested;
+        }
+        try {
+            long now = event.getTimestamp();
+            if (!channel.isOpen()) {
+                open(now);
+            }
+            long size = written + buffer.position();
+            if (now >= nextRollover || (maxFileSize > 0 && size > 0 && size + text.length() > maxFileSize)) {
+                rotate(now);
+            }
+            encode(text);
+            failing = false;
+        } catch (IOException e) {
+            report("Cannot write log file", e);
+        }
+        if (this.text.capacity() > 1 << 16) {
+            this.text.setLength(0);
+            this.text.trimToSize();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            drain();
+        } catch (IOException e) {
+            report("Cannot write log file", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            drain();
+            channel.close();
+        } catch (IOException e) {
+            report("Cannot close log file", e);
+        }
+    }
+
+    private void open(long now) throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        written = channel.size();
+        periodStart = written > 0 ? Files.getLastModifiedTime(file).toMillis() : now;
+        nextRollover = rolloverInterval > 0 ? boundaryAfter(periodStart) : Long.MAX_VALUE;
+    }
+
+    private void encode(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        encoder.reset();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void rotate(long now) throws IOException {
+        drain();
+        channel.close();
+        String date = DATE_FORMAT.format(Instant.ofEpochMilli(periodStart));
+        // Continue after the highest index, a pruned lower index must not be reused or the newest file would sort oldest.
+        long index = 0;
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Matcher matcher = archiveName.matcher(path.getFileName().toString());
+                if (matcher.matches() && matcher.group(1).equals(date)) {
+                    index = Math.max(index, Long.parseLong(matcher.group(2)));
+                }
+            }
+        }
+        Path rotated = file.resolveSibling(baseName + "-" + date + "-" + (index + 1) + extension);
+        if (written > 0) {
+            Files.move(file, rotated);
+        }
+        open(now);
+        if (Files.exists(rotated)) {
+            Path target = rotated;
+            boolean gzip = compress;
+            int history = maxHistory;
+            ARCHIVER.execute(() -> archive(target, gzip, history));
+        }
+    }
+
+    private long boundaryAfter(long millis) {
+        long offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds() * 1000L;
+        return (Math.floorDiv(millis + offset, rolloverInterval) + 1) * rolloverInterval - offset;
+    }
+
+    private void archive(Path rotated, boolean gzip, int history) {
+        try {
+            if (gzip) {
+                Path packed = rotated.resolveSibling(rotated.getFileName() + ".gz");
+                Path part = rotated.resolveSibling(rotated.getFileName() + ".gz.part");
+                try (InputStream in = Files.newInputStream(rotated);
+                     OutputStream out = new GZIPOutputStream(Files.newOutputStream(part), BUFFER_SIZE)) {
+                    in.transferTo(out);
+                }
+                Files.move(part, packed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.delete(rotated);
+            }
+            if (history > 0) {
+                prune(history);
+            }
+        } catch (IOException e) {
+            System.err.printf("[Logger] Cannot archive log file \"%s\": %s%n", rotated, e);
+        }
+    }
+
+    private void prune(int history) throws IOException {
+        List<Matcher> archived;
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            archived = files.map(path -> archiveName.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .sorted(Comparator.comparing((Matcher m) -> m.group(1))
+                            .thenComparingLong(m -> Long.parseLong(m.group(2))).reversed())
+                    .collect(Collectors.toList());
+        }
+        for (Matcher matcher : archived.subList(Math.min(history, archived.size()), archived.size())) {
+            Files.deleteIfExists(file.resolveSibling(matcher.group()));
+        }
+    }
+
+    private void report(String message, IOException e) {
+        // Logging through Logger here would recurse into this appender, so only the first failure is printed.
+        if (!failing) {
+            failing = true;
+            System.err.printf("[Logger] %s \"%s\": %s%n", message, file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RollingFileAppender(" +
+                "file:" + file +
+                ", maxSize:" + maxFileSize +
+                ", interval:" + rolloverInterval +
+                ", compress:" + compress +
+                ", layout:" + layout +
+                ")";
+    }
+}
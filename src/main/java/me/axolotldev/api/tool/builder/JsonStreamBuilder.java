@@ -0,0 +1,296 @@
+package me.axolotldev.api.tool.builder;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * JsonStreamBuilder是一個將JSON直接寫入StringBuilder的流式構建器。
+ * 與{@link JsonBuilder}不同，它不會構建JsonObject樹，每個值在寫入時就被轉義並附加，適合大量、只需序列化一次的輸出。
+ * 實例可通過{@link #reset(StringBuilder)}重用。
+ *
+ * @since 2026-10-18
+ */
+public final class JsonStreamBuilder {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_DEPTH = 64;
+
+    private StringBuilder out;
+    private final boolean[] hasValue = new boolean[MAX_DEPTH];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    /**
+     * 構造一個寫入指定StringBuilder的JsonStreamBuilder。
+     *
+     * @param out 目標StringBuilder
+     */
+    public JsonStreamBuilder(@NotNull StringBuilder out) {
+        this.out = out;
+    }
+
+    /**
+     * 清除嵌套狀態，並改為寫入指定的StringBuilder。
+     *
+     * @param out 目標StringBuilder
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder reset(@NotNull StringBuilder out) {
+        this.out = out;
+        this.depth = 0;
+        this.afterName = false;
+        return this;
+    }
+
+    /**
+     * 開始一個JSON對象。
+     *
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     * @throws IllegalStateException 如果嵌套超過64層。
+     */
+    public JsonStreamBuilder beginObject() {
+        return open('{');
+    }
+
+    /**
+     * 結束當前的JSON對象。
+     *
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder endObject() {
+        return close('}');
+    }
+
+    /**
+     * 開始一個JSON數組。
+     *
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     * @throws IllegalStateException 如果嵌套超過64層。
+     */
+    public JsonStreamBuilder beginArray() {
+        return open('[');
+    }
+
+    /**
+     * 結束當前的JSON數組。
+     *
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder endArray() {
+        return close(']');
+    }
+
+    /**
+     * 寫入下一個值的鍵。
+     *
+     * @param key 鍵。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder name(@NotNull CharSequence key) {
+        separator();
+        string(key);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * 寫入一個字符串值，null會寫為JSON的null。
+     *
+     * @param value 值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder value(@Nullable CharSequence value) {
+        separator();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    /**
+     * 寫入一個整數值。
+     *
+     * @param value 值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder value(long value) {
+        separator();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * 寫入一個浮點數值，NaN和無窮大會寫為字符串。
+     *
+     * @param value 值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder value(double value) {
+        separator();
+        if (Double.isFinite(value)) {
+            out.append(value);
+        } else {
+            out.append('"').append(value).append('"');
+        }
+        return this;
+    }
+
+    /**
+     * 寫入一個布爾值。
+     *
+     * @param value 值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder value(boolean value) {
+        separator();
+        out.append(value);
+        return this;
+    }
+
+    /**
+     * 寫入任意值：數字和布爾值按原樣寫入，null寫為null，其他對象寫為其toString()的字符串。
+     *
+     * @param value 值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder value(@Nullable Object value) {
+        if (value == null) {
+            return value((CharSequence) null);
+        } else if (value instanceof CharSequence text) {
+            return value(text);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            return value(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            return value(bool.booleanValue());
+        }
+        return value(String.valueOf(value));
+    }
+
+    /**
+     * 在當前對象中寫入一個字符串類型的鍵值對。
+     *
+     * @param key   值的鍵。
+     * @param value 要寫入的值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder setKV(@NotNull CharSequence key, @Nullable CharSequence value) {
+        return name(key).value(value);
+    }
+
+    /**
+     * 在當前對象中寫入一個整數類型的鍵值對。
+     *
+     * @param key   值的鍵。
+     * @param value 要寫入的值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     */
+    public JsonStreamBuilder setKV(@NotNull CharSequence key, long value) {
+        return name(key).value(value);
+    }
+
+    /**
+     * 在當前對象中寫入一個任意類型的鍵值對。
+     *
+     * @param key   值的鍵。
+     * @param value 要寫入的值。
+     * @return 用於方法鏈接的這個JsonStreamBuilder。
+     * @see #value(Object)
+     */
+    public JsonStreamBuilder setKV(@NotNull CharSequence key, @Nullable Object value) {
+        return name(key).value(value);
+    }
+
+    private JsonStreamBuilder open(char bracket) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nesting is too deep.");
+        }
+        separator();
+        out.append(bracket);
+        hasValue[depth++] = false;
+        return this;
+    }
+
+    private JsonStreamBuilder close(char bracket) {
+        depth--;
+        out.append(bracket);
+        return this;
+    }
+
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasValue[depth - 1]) {
+                out.append(',');
+            }
+            hasValue[depth - 1] = true;
+        }
+    }
+
+    private void string(CharSequence value) {
+        out.append('"');
+        if (value instanceof String text && isPlain(text)) {
+            out.append(text).append('"');
+            return;
+        }
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.append(value, start, i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\u2028':
+                    // Valid JSON, but it breaks JavaScript-based line parsers.
+                    out.append("\\u2028");
+                    break;
+                case '\u2029':
+                    out.append("\\u2029");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX[(c >> 4) & 0xF]).append(HEX[c & 0xF]);
+            }
+            start = i + 1;
+        }
+        out.append(value, start, length).append('"');
+    }
+
+    private static boolean isPlain(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package me.axolotldev.api.tool.enumerate;
+
+/**
+ * AsyncOverflow枚舉表示Logger非同步模式下環形緩衝區已滿時的處理方式。
+ *
+ * @since 2026-10-18
+ */
+public enum AsyncOverflow {
+
+    /**
+     * 等待直到緩衝區有空位，不會遺失日誌。
+     */
+    BLOCK,
+
+    /**
+     * 丟棄新的日誌，並在之後寫出一條記錄丟棄數量的警告。
+     */
+    DISCARD,
+
+    /**
+     * 在調用線程上同步寫入，不會遺失日誌，但這些日誌可能比緩衝區中的日誌先出現。
+     */
+    SYNCHRONOUS
+}
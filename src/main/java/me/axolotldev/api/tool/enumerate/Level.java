@@ -0,0 +1,10 @@
+package me.axolotldev.api.tool.enumerate;
+
+/**
+ * Level枚舉表示日誌等級，低於Logger當前等級的日誌會在格式化之前被忽略。
+ *
+ * @since 2026-10-18
+ */
+public enum Level {
+    DEBUG, INFO, WARNING, SEVERE
+}